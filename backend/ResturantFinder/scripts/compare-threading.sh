@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+# Runs the same closed-loop load against the application once on Tomcat platform threads and
+# once on virtual threads, and prints both results.
+#
+#   ./scripts/compare-threading.sh [extra application arguments...]
+#
+# The application is started from target/ResturantFinder-*-exec.jar (run `./mvnw package` first)
+# against the datasource in application.properties, unless APP_CMD overrides the launch
+# command. Tunables: PORT, CONCURRENCY (clients), DURATION (seconds), RESTAURANTS (rows
+# seeded through the bulk import when the catalog has no load-test rows yet), DB_POOL_SIZE.
+# The bulk import is admin-only: seeding needs ADMIN_TOKEN, a token of a ROLE_ADMIN user.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-8081}
+CONCURRENCY=${CONCURRENCY:-400}
+DURATION=${DURATION:-30}
+RESTAURANTS=${RESTAURANTS:-2000}
+APP_CMD=${APP_CMD:-"java -jar $(ls target/ResturantFinder-*-exec.jar | head -n 1)"}
+BASE=http://localhost:$PORT
+LOG=$(mktemp)
+
+start_app() {
+  VIRTUAL_THREADS=$1 $APP_CMD --server.port="$PORT" "${@:2}" > "$LOG" 2>&1 &
+  APP_PID=$!
+  for _ in $(seq 1 120); do
+    if grep -q "Started ResturantFinderApplication" "$LOG"; then return; fi
+    if ! kill -0 "$APP_PID" 2>/dev/null; then cat "$LOG"; exit 1; fi
+    sleep 1
+  done
+  echo "application did not start" >&2; exit 1
+}
+
+stop_app() {
+  kill "$APP_PID" && wait "$APP_PID" 2>/dev/null || true
+}
+
+token() {
+  local user=loadtest$RANDOM
+  curl -sf -XPOST "$BASE/auth/register" -H 'Content-Type: application/json' \
+    -d "{\"username\":\"$user\",\"password\":\"Passw0rd!\",\"email\":\"$user@example.com\"}" \
+    | sed 's/.*"token":"\([^"]*\)".*/\1/'
+}
+
+seed() {
+  if [ -z "${ADMIN_TOKEN:-}" ]; then
+    echo "no load-test restaurants yet; set ADMIN_TOKEN to seed them through the admin-only import" >&2
+    stop_app; exit 1
+  fi
+  local category
+  category=$(curl -sf "$BASE/api/v1/restaurants/categories" -H "Authorization: Bearer $1" \
+    | sed 's/^\[{"id":[0-9]*,"name":"\([^"]*\)".*/\1/')
+  for i in $(seq 1 "$RESTAURANTS"); do
+    echo "{\"name\":\"Load Test $i\",\"address\":\"$i Main St\",\"hours\":\"9-5\",\"priceRange\":\"LOW\",\"categories\":[\"$category\"],\"reviews\":[{\"rating\":$((i % 5 + 1)),\"comment\":\"seeded review $i\"}]}"
+  done | curl -sf -XPOST "$BASE/api/v1/restaurants/import" -H "Authorization: Bearer $ADMIN_TOKEN" \
+    -H 'Content-Type: application/x-ndjson' --data-binary @- > /dev/null
+}
+
+for mode in false true; do
+  start_app "$mode" "$@"
+  TOKEN=$(token)
+  FIRST=$(curl -sf "$BASE/api/v1/restaurants?name=load+test&size=1" -H "Authorization: Bearer $TOKEN")
+  if [ "$FIRST" = "[]" ]; then
+    seed "$TOKEN"
+    FIRST=$(curl -sf "$BASE/api/v1/restaurants?name=load+test&size=1" -H "Authorization: Bearer $TOKEN")
+  fi
+  ID=$(echo "$FIRST" | sed 's/^\[{"id":\([0-9]*\).*/\1/')
+  echo "== virtual threads: $mode (concurrency $CONCURRENCY, ${DURATION}s)"
+  java ../benchmarks/src/main/java/com/triad/resturantfinder/benchmarks/LoadDriver.java "$BASE" "$TOKEN" "$CONCURRENCY" "$DURATION" \
+    "/api/v1/restaurants?name=load+test&size=20" \
+    "/api/v1/restaurants/$ID/reviews" \
+    "/api/v1/restaurants?sort=RATING&size=20"
+  stop_app
+done
+rm -f "$LOG"
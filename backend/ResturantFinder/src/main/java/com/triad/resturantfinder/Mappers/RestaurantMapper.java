@@ -1,22 +1,24 @@
 package com.triad.resturantfinder.Mappers;
 
+import com.triad.resturantfinder.helper.InvalidRequestException;
 import com.triad.resturantfinder.model.DAO.Restaurant;
 import com.triad.resturantfinder.model.DAO.Category;
 import com.triad.resturantfinder.model.DAO.PriceRange;
+import com.triad.resturantfinder.model.DAO.RestaurantRow;
 import com.triad.resturantfinder.model.DTO.CategoryResponse;
 import com.triad.resturantfinder.model.DTO.RestaurantRequest;
 import com.triad.resturantfinder.model.DTO.RestaurantResponse;
-import com.triad.resturantfinder.respository.CategoryRepository;
+import com.triad.resturantfinder.service.CategoryDictionary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-import java.util.Optional;
+import java.util.List;
 import java.util.stream.Collectors;
 
 
 @Component
 @RequiredArgsConstructor
 public class RestaurantMapper {
-    private final CategoryRepository categoryRepository;
+    private final CategoryDictionary categoryDictionary;
 
     public Restaurant toEntity(RestaurantRequest request) {
         Restaurant restaurant = new Restaurant();
@@ -32,11 +34,16 @@ public class RestaurantMapper {
         restaurant.setDescription(request.getDescription());
         restaurant.setHours(request.getHours());
         restaurant.setPriceRange(PriceRange.valueOf(request.getPriceRange()));
-        restaurant.setCategories(request.getCategoryIds().stream()
-                .map(categoryRepository::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toList()));
+        restaurant.setCategories(categoryDictionary.resolve(request.getCategoryIds()));
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new InvalidRequestException("Latitude and longitude must be given together");
+        }
+        if (request.getLatitude() != null
+                && (Math.abs(request.getLatitude()) > 90 || Math.abs(request.getLongitude()) > 180)) {
+            throw new InvalidRequestException("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+        restaurant.setLatitude(request.getLatitude());
+        restaurant.setLongitude(request.getLongitude());
     }
 
     public RestaurantResponse toResponse(Restaurant restaurant) {
@@ -49,14 +56,37 @@ public class RestaurantMapper {
         response.setDescription(restaurant.getDescription());
         response.setHours(restaurant.getHours());
         response.setPriceRange(restaurant.getPriceRange().name());
-        response.setRating(restaurant.getRating());
+        response.setRating(restaurant.getAverageRating() == null ? null : restaurant.getAverageRating().toString());
+        response.setReviewCount(restaurant.getReviewCount());
         response.setPhotoUrl(restaurant.getPhotoUrl());
+        response.setLatitude(restaurant.getLatitude());
+        response.setLongitude(restaurant.getLongitude());
         response.setCategories(restaurant.getCategories().stream()
                 .map(this::categoryToResponse)
                 .collect(Collectors.toList()));
         return response;
     }
 
+    // Categories are collected by the caller from consecutive rows
+    public RestaurantResponse toResponse(RestaurantRow row, List<CategoryResponse> categories) {
+        RestaurantResponse response = new RestaurantResponse();
+        response.setId(row.id());
+        response.setName(row.name());
+        response.setAddress(row.address());
+        response.setEmail(row.email());
+        response.setPhone(row.phone());
+        response.setDescription(row.description());
+        response.setHours(row.hours());
+        response.setPriceRange(row.priceRange().name());
+        response.setRating(row.averageRating() == null ? null : row.averageRating().toString());
+        response.setReviewCount(row.reviewCount());
+        response.setPhotoUrl(row.photoUrl());
+        response.setLatitude(row.latitude());
+        response.setLongitude(row.longitude());
+        response.setCategories(categories);
+        return response;
+    }
+
     private CategoryResponse categoryToResponse(Category category) {
         CategoryResponse response = new CategoryResponse();
         response.setId(category.getId());
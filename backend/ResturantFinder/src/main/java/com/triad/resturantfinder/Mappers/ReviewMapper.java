@@ -1,6 +1,7 @@
 package com.triad.resturantfinder.Mappers;
 
 import com.triad.resturantfinder.model.DAO.Review;
+import com.triad.resturantfinder.model.DAO.ReviewView;
 import com.triad.resturantfinder.model.DTO.ReviewRequest;
 import com.triad.resturantfinder.model.DTO.ReviewResponse;
 import org.springframework.stereotype.Component;
@@ -17,6 +18,16 @@ public class ReviewMapper {
         return review;
     }
 
+    public ReviewResponse toResponse(ReviewView review) {
+        ReviewResponse response = new ReviewResponse();
+        response.setId(review.id());
+        response.setRestaurantId(review.restaurantId());
+        response.setRating(review.rating());
+        response.setComment(review.comment());
+        response.setCreatedAt(review.createdAt().format(formatter));
+        return response;
+    }
+
     public ReviewResponse toResponse(Review review) {
         ReviewResponse response = new ReviewResponse();
         response.setId(review.getId());
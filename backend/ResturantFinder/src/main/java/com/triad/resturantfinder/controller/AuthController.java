@@ -1,6 +1,10 @@
 package com.triad.resturantfinder.controller;
 
 import com.triad.resturantfinder.helper.JwtUtil;
+import com.triad.resturantfinder.helper.LoginRejectedException;
+import com.triad.resturantfinder.helper.LoginThrottle;
+import com.triad.resturantfinder.helper.QueryBudget;
+import com.triad.resturantfinder.helper.TokenRevocationList;
 import com.triad.resturantfinder.model.DAO.User;
 import com.triad.resturantfinder.model.DTO.AuthResponse;
 import com.triad.resturantfinder.model.DTO.LoginRequest;
@@ -9,6 +13,10 @@ import com.triad.resturantfinder.model.DTO.ErrorResponse;
 import com.triad.resturantfinder.respository.UserRepository;
 
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,7 +27,6 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import javax.validation.Valid;
 import java.util.Map;
 
 @RestController
@@ -32,23 +39,32 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserDetailsService authService;
+    private final LoginThrottle loginThrottle;
+    private final TokenRevocationList revocationList;
 
     public AuthController(AuthenticationManager authenticationManager,
                           UserDetailsService userDetailsService,
                           JwtUtil jwtUtil,
                           UserRepository userRepository,
                           PasswordEncoder passwordEncoder,
-                          UserDetailsService authService) {
+                          UserDetailsService authService,
+                          LoginThrottle loginThrottle,
+                          TokenRevocationList revocationList) {
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authService = authService;
+        this.loginThrottle = loginThrottle;
+        this.revocationList = revocationList;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    @QueryBudget(2)
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        // Refused before anything is hashed; see GlobalExceptionHandler for the 429
+        loginThrottle.checkAttempt(request.getRemoteAddr(), loginRequest.getUsername());
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -59,6 +75,7 @@ public class AuthController {
 
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
             String token = jwtUtil.generateToken(userDetails);
+            loginThrottle.recordSuccess(loginRequest.getUsername());
 
             AuthResponse response = AuthResponse.builder()
                     .token(token)
@@ -69,7 +86,12 @@ public class AuthController {
 
             return ResponseEntity.ok(response);
 
+        } catch (LoginRejectedException e) {
+            // The hashing bulkhead is saturated: 503 with Retry-After
+            loginThrottle.release(loginRequest.getUsername());
+            throw e;
         } catch (BadCredentialsException e) {
+            // Already counted by checkAttempt
             return ResponseEntity
                     .status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponse(
@@ -91,6 +113,7 @@ public class AuthController {
                             "Your account has been disabled. Please contact support.",
                             401));
         } catch (Exception e) {
+            loginThrottle.release(loginRequest.getUsername());
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ErrorResponse(
@@ -102,7 +125,9 @@ public class AuthController {
 
 
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
+    @QueryBudget(5)
+    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest, HttpServletRequest request) {
+        loginThrottle.checkAttempt(request.getRemoteAddr(), null);
         try {
             // Check if username exists
             if (userRepository.findByUsername(registerRequest.getUsername()).isPresent()) {
@@ -158,6 +183,8 @@ public class AuthController {
 
             return ResponseEntity.ok(response);
 
+        } catch (LoginRejectedException e) {
+            throw e;
         } catch (DataIntegrityViolationException e) {
             return ResponseEntity
                     .status(HttpStatus.CONFLICT)
@@ -186,6 +213,7 @@ public class AuthController {
 
 
     @GetMapping("/validate")
+    @QueryBudget(2)
     public ResponseEntity<?> validateToken(@RequestHeader("Authorization") String authHeader) {
         try {
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -195,10 +223,11 @@ public class AuthController {
             }
 
             String token = authHeader.substring(7);
-            String username = jwtUtil.extractUsername(token);
+            Claims claims = jwtUtil.parseClaims(token);
+            String username = claims.getSubject();
             UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-            if (jwtUtil.validateToken(token, userDetails)) {
+            if (!revocationList.isRevoked(claims.getId()) && jwtUtil.validateToken(token, userDetails)) {
                 AuthResponse response = AuthResponse.builder()
                         .token(token)
                         .username(username)
@@ -220,11 +249,21 @@ public class AuthController {
         }
     }
 
+    // Revokes the presented token until it expires; other tokens of the same user stay valid.
+    // Tokens issued before jti was added cannot be revoked and simply run out.
     @PostMapping("/logout")
+    @QueryBudget(0)
     public ResponseEntity<?> logout(@RequestHeader("Authorization") String authHeader) {
         try {
-            // Add token to blacklist or invalidate session if needed
-            // For stateless JWT, client just needs to remove the token
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                String token = authHeader.substring(7);
+                try {
+                    Claims claims = jwtUtil.parseClaims(token);
+                    revocationList.revoke(claims.getId(), claims.getExpiration());
+                } catch (JwtException | IllegalArgumentException e) {
+                    // Invalid or expired: nothing left to revoke
+                }
+            }
 
             return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
 
@@ -1,51 +1,125 @@
 package com.triad.resturantfinder.controller;
 
+import com.triad.resturantfinder.helper.ConditionalGet;
+import com.triad.resturantfinder.helper.QueryBudget;
 import com.triad.resturantfinder.model.DTO.*;
+import com.triad.resturantfinder.service.RestaurantExportService;
+import com.triad.resturantfinder.service.RestaurantImportService;
 import com.triad.resturantfinder.service.RestaurantService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.Pattern;
-import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 
-import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/restaurants")
 @RequiredArgsConstructor
 public class RestaurantController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String RELAXED_CONSTRAINTS_HEADER = "X-Relaxed-Constraints";
+
     private final RestaurantService restaurantService;
+    private final RestaurantExportService restaurantExportService;
+    private final RestaurantImportService restaurantImportService;
 
+    // GETs below check their validators first, so a 304 never loads or maps anything
     @GetMapping("/{id}")
+    @QueryBudget(2)
     public ResponseEntity<RestaurantResponse> getRestaurant(
-            @PathVariable @Min(value = 1, message = "ID must be positive") Long id) {
-        return ResponseEntity.ok(restaurantService.getRestaurantById(id));
+            @PathVariable @Min(value = 1, message = "ID must be positive") Long id,
+            WebRequest webRequest) {
+        if (ConditionalGet.isNotModified(webRequest, restaurantService.getRestaurantValidators(id))) {
+            return ConditionalGet.notModified();
+        }
+        return ConditionalGet.ok().body(restaurantService.getRestaurantById(id));
     }
 
-    @GetMapping
-    public ResponseEntity<List<RestaurantResponse>> getAllRestaurants(
-            @RequestParam(required = false) @Size(max = 100) String name,
-            @RequestParam(required = false) List<String> categories,
-            @RequestParam(required = false) @Pattern(regexp = "^(LOW|MEDIUM|HIGH)$") String priceRange,
-            @RequestParam(required = false) @Pattern(regexp = "^[1-5]$") String rating) {
+    @GetMapping("/autocomplete")
+    @QueryBudget(0)
+    public ResponseEntity<List<AutocompleteSuggestion>> autocomplete(
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(restaurantService.autocomplete(query, limit));
+    }
 
-        return ResponseEntity.ok(restaurantService.searchRestaurants(name, categories, priceRange, rating));
+    // e.g. ?category=Italian&priceRange=MEDIUM; without priceRange the category's price ranges are merged
+    @GetMapping("/leaderboard")
+    @QueryBudget(0)
+    public ResponseEntity<List<LeaderboardEntryResponse>> getLeaderboard(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String priceRange,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        if (ConditionalGet.isNotModified(webRequest, restaurantService.getLeaderboardValidators())) {
+            return ConditionalGet.notModified();
+        }
+        return ConditionalGet.ok().body(restaurantService.getLeaderboard(category, priceRange, limit));
     }
 
+    // Streamed from an async thread, so the response starts before the last row is read.
+    // A WebAsyncTask rather than a StreamingResponseBody, because only it can carry its own timeout
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public WebAsyncTask<Void> exportRestaurants(HttpServletResponse response) {
+        return new WebAsyncTask<>(restaurantExportService.timeout().toMillis(), () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            restaurantExportService.export(response.getOutputStream());
+            return null;
+        });
+    }
 
+    @GetMapping
+    @QueryBudget(2)
+    public ResponseEntity<List<RestaurantResponse>> getAllRestaurants(@Valid RestaurantSearchRequest request,
+                                                                      WebRequest webRequest) {
+        if (ConditionalGet.isNotModified(webRequest, restaurantService.getSearchValidators())) {
+            return ConditionalGet.notModified();
+        }
+        RestaurantPage page = restaurantService.searchRestaurants(request);
+        ResponseEntity.BodyBuilder response = ConditionalGet.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        // Set when nothing matched exactly, e.g. "rating, priceRange, category:pizza"
+        if (!page.getRelaxedConstraints().isEmpty()) {
+            response.header(RELAXED_CONSTRAINTS_HEADER, String.join(", ", page.getRelaxedConstraints()));
+        }
+        return response.body(page.getContent());
+    }
+
+
+    // Every 50th insert also allocates a block of ids (two statements)
     @PostMapping("/register")
+    @QueryBudget(4)
     @PreAuthorize("hasRole('ADMIN') or hasRole('BUSINESS_OWNER')")
     public ResponseEntity<RestaurantResponse> addRestaurant(@Valid @RequestBody RestaurantRequest request) {
         return new ResponseEntity<>(restaurantService.createRestaurant(request), HttpStatus.CREATED);
     }
 
+    // One restaurant per line; rows are validated individually and reported in the response
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportReport> importRestaurants(InputStream body) throws IOException {
+        return ResponseEntity.ok(restaurantImportService.importRestaurants(body));
+    }
+
     @PutMapping("update/{id}")
+    @QueryBudget(5)
     @PreAuthorize("hasRole('ADMIN') or hasRole('BUSINESS_OWNER')")
     public ResponseEntity<RestaurantResponse> updateRestaurant(
             @PathVariable Long id,
@@ -54,22 +128,48 @@ public class RestaurantController {
     }
 
     @GetMapping("/{restaurantId}/reviews")
-    public ResponseEntity<List<ReviewResponse>> getRestaurantReviews(@PathVariable Long restaurantId) {
-        return ResponseEntity.ok(restaurantService.getRestaurantReviews(restaurantId));
+    @QueryBudget(2)
+    public ResponseEntity<List<ReviewResponse>> getRestaurantReviews(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest,
+            Principal principal) {
+        String viewer = principal == null ? null : principal.getName();
+        if (ConditionalGet.isNotModified(webRequest, restaurantService.getReviewsValidators(restaurantId, viewer))) {
+            return ConditionalGet.notModified();
+        }
+        ReviewPage page = restaurantService.getRestaurantReviews(restaurantId, cursor, size, viewer);
+        ResponseEntity.BodyBuilder response = ConditionalGet.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
     }
 
     @PostMapping("/{restaurantId}/reviews")
+    @QueryBudget(5)
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<ReviewResponse> addReview(
             @PathVariable Long restaurantId,
-            @Valid @RequestBody ReviewRequest reviewRequest) {
+            @Valid @RequestBody ReviewRequest reviewRequest,
+            Principal principal) {
+        // 202 with a null id when queued for write-behind, 201 when written here
+        Optional<ReviewResponse> queued = restaurantService.submitReview(restaurantId, reviewRequest, principal.getName());
+        if (queued.isPresent()) {
+            return new ResponseEntity<>(queued.get(), HttpStatus.ACCEPTED);
+        }
         return new ResponseEntity<>(
                 restaurantService.addReview(restaurantId, reviewRequest),
                 HttpStatus.CREATED
         );
     }
     @GetMapping("/categories")
-    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
-        return ResponseEntity.ok(restaurantService.getAllCategories());
+    @QueryBudget(1)
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(WebRequest webRequest) {
+        if (ConditionalGet.isNotModified(webRequest, restaurantService.getCategoriesValidators())) {
+            return ConditionalGet.notModified();
+        }
+        return ConditionalGet.ok().body(restaurantService.getAllCategories());
     }
 }
\ No newline at end of file
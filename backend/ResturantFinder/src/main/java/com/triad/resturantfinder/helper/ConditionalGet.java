@@ -0,0 +1,69 @@
+package com.triad.resturantfinder.helper;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+
+/**
+ * Conditional GETs answered from validators that are known without loading the resource:
+ * handlers check the request first and only build the body when the client's copy is stale.
+ * Responses are {@code no-cache, private} instead of Spring Security's default
+ * {@code no-store}, so browsers keep them and revalidate on every use. Each encoding
+ * negotiated through {@code Accept} (JSON, CBOR, Smile) is its own representation, so it gets
+ * its own ETag and responses vary by {@code Accept}.
+ */
+public final class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    /**
+     * Strong ETag (unquoted) and optional Last-Modified of a representation.
+     */
+    public record Validators(String etag, Instant lastModified) {
+    }
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Checks {@code If-None-Match} / {@code If-Modified-Since} and sets the ETag and
+     * Last-Modified response headers. Unknown validators ({@code null}) never match.
+     */
+    public static boolean isNotModified(WebRequest request, Validators validators) {
+        if (validators == null) {
+            return false;
+        }
+        String etag = validators.etag() + encodingSuffix(request.getHeader(HttpHeaders.ACCEPT));
+        return validators.lastModified() == null
+                ? request.checkNotModified(etag)
+                : request.checkNotModified(etag, validators.lastModified().toEpochMilli());
+    }
+
+    public static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    public static ResponseEntity.BodyBuilder ok() {
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT);
+    }
+
+    // A plain substring check is enough: clients that want a binary encoding name it, and the
+    // same Accept always negotiates the same encoding
+    private static String encodingSuffix(String accept) {
+        if (accept == null) {
+            return "";
+        }
+        int cbor = accept.indexOf(CBOR);
+        int smile = accept.indexOf(SMILE);
+        if (cbor < 0 && smile < 0) {
+            return "";
+        }
+        return smile < 0 || (cbor >= 0 && cbor < smile) ? ".cbor" : ".smile";
+    }
+}
@@ -0,0 +1,35 @@
+package com.triad.resturantfinder.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe continuation tokens. Clients must treat the
+ * token as a black box; anything that does not decode to the expected shape is rejected
+ * with {@link InvalidRequestException}.
+ */
+public final class CursorCodec {
+    private static final String SEPARATOR = "\u001F";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String... parts) {
+        byte[] raw = String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+        String[] parts = raw.split(SEPARATOR, -1);
+        if (parts.length != expectedParts) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        return parts;
+    }
+}
@@ -1,7 +1,10 @@
 package com.triad.resturantfinder.helper;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import com.triad.resturantfinder.model.DTO.ErrorResponse;
@@ -19,6 +22,53 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    // A @PreAuthorize check failed; without this the catch-all below would answer 500
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "Forbidden",
+                "You are not allowed to perform this action",
+                HttpStatus.FORBIDDEN.value()
+        );
+        return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
+    }
+
+    // Two edits of the same restaurant raced; the loser retries against the new version
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "Conflict",
+                "The resource was modified concurrently, please retry",
+                HttpStatus.CONFLICT.value()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    // Throttled (429) or the hashing bulkhead is full (503); Retry-After is in whole seconds
+    @ExceptionHandler(LoginRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleLoginRejectedException(LoginRejectedException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "Try again later",
+                ex.getMessage(),
+                ex.getStatus().value()
+        );
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(error);
+    }
+
+    // Only thrown with diagnostics.query-budget.mode=FAIL, so tests see which handler regressed
+    @ExceptionHandler(QueryBudgetExceededException.class)
+    public ResponseEntity<ErrorResponse> handleQueryBudgetExceededException(QueryBudgetExceededException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "Query budget exceeded",
+                ex.getMessage(),
+                HttpStatus.INTERNAL_SERVER_ERROR.value()
+        );
+        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         ErrorResponse error = new ErrorResponse(
@@ -0,0 +1,15 @@
+package com.triad.resturantfinder.helper;
+
+/**
+ * A request parameter that passed binding but makes no sense, such as a cursor that was not
+ * issued by this server or a nearby search without a longitude. Answered with 400.
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,65 @@
+package com.triad.resturantfinder.helper;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the application {@link DataSource} so that every executed JDBC statement is reported
+ * to the {@link QueryExecutionListener} beans, such as {@link SlowQueryLog}. The listeners are
+ * looked up on first use, so they may themselves depend on beans that need the DataSource.
+ * The pool underneath is still reachable through {@code unwrap}, which is how its metrics
+ * are bound.
+ */
+@Component
+public class JdbcInstrumentation implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryExecutionListener> listenerProvider;
+    private volatile List<QueryExecutionListener> listeners;
+
+    public JdbcInstrumentation(ObjectProvider<QueryExecutionListener> listenerProvider) {
+        this.listenerProvider = listenerProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new QueryExecutionListener() {
+                        @Override
+                        public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+                            for (QueryExecutionListener listener : listeners()) {
+                                listener.beforeQuery(execution, queries);
+                            }
+                        }
+
+                        @Override
+                        public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+                            for (QueryExecutionListener listener : listeners()) {
+                                listener.afterQuery(execution, queries);
+                            }
+                        }
+                    })
+                    .build();
+        }
+        return bean;
+    }
+
+    private List<QueryExecutionListener> listeners() {
+        List<QueryExecutionListener> resolved = listeners;
+        if (resolved == null) {
+            resolved = listenerProvider.orderedStream().toList();
+            listeners = resolved;
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,29 @@
+package com.triad.resturantfinder.helper;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * An authentication request turned away before any password was hashed: 429 when the
+ * caller is over its attempt limit, 503 when the password-hashing bulkhead is saturated.
+ */
+public class LoginRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public LoginRejectedException(HttpStatus status, String message, Duration retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,131 @@
+package com.triad.resturantfinder.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window limits on authentication attempts, checked before any password is hashed:
+ * every login or registration counts against the client IP, and failed logins also count
+ * against the username, so neither one address nor a distributed guess at one account can
+ * keep the hashing threads busy. Over a limit the caller gets 429 with the time left in the
+ * window as {@code Retry-After}.
+ * <p>
+ * A login counts as a failure of its username from the moment it is let through, so parallel
+ * guesses cannot all pass the check before the first of them fails. A successful login clears
+ * its username's failures; a login that never got to check the password is given back with
+ * {@link #release}.
+ * <p>
+ * Windows are kept in bounded caches. An address or username that drops out of the cache
+ * under pressure starts a fresh window, so the limits are best effort at very high
+ * cardinality.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final class Window {
+        private final long startNanos;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Window(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+
+    private final int maxAttemptsPerIp;
+    private final Duration ipWindow;
+    private final int maxFailuresPerUsername;
+    private final Duration usernameWindow;
+    private final Cache<String, Window> ipWindows;
+    private final Cache<String, Window> usernameWindows;
+    private final Counter ipThrottled;
+    private final Counter usernameThrottled;
+
+    public LoginThrottle(@Value("${auth.throttle.ip.max-attempts:30}") int maxAttemptsPerIp,
+                         @Value("${auth.throttle.ip.window:1m}") Duration ipWindow,
+                         @Value("${auth.throttle.username.max-failures:5}") int maxFailuresPerUsername,
+                         @Value("${auth.throttle.username.window:5m}") Duration usernameWindow,
+                         @Value("${auth.throttle.maximum-size:100000}") long maximumSize,
+                         MeterRegistry meterRegistry) {
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.ipWindow = ipWindow;
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.usernameWindow = usernameWindow;
+        this.ipWindows = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ipWindow).build();
+        this.usernameWindows = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(usernameWindow).build();
+        this.ipThrottled = throttledCounter(meterRegistry, "ip");
+        this.usernameThrottled = throttledCounter(meterRegistry, "username");
+    }
+
+    /**
+     * Counts an attempt from {@code ip} and, as a failure until it succeeds, against
+     * {@code username} (may be {@code null}); refuses it if either is over its limit.
+     */
+    public void checkAttempt(String ip, String username) {
+        long now = System.nanoTime();
+        Window window = current(ipWindows, ip, ipWindow, now);
+        if (window.count.incrementAndGet() > maxAttemptsPerIp) {
+            ipThrottled.increment();
+            throw throttled(window, ipWindow, now);
+        }
+        if (username != null) {
+            Window failures = current(usernameWindows, key(username), usernameWindow, now);
+            if (failures.count.incrementAndGet() > maxFailuresPerUsername) {
+                failures.count.decrementAndGet();
+                usernameThrottled.increment();
+                throw throttled(failures, usernameWindow, now);
+            }
+        }
+    }
+
+    public void recordSuccess(String username) {
+        usernameWindows.invalidate(key(username));
+    }
+
+    /**
+     * Gives back the failure {@link #checkAttempt} counted for a login that ended before its
+     * password was checked, such as one refused by the hashing bulkhead.
+     */
+    public void release(String username) {
+        Window failures = peek(usernameWindows, key(username), usernameWindow, System.nanoTime());
+        if (failures != null) {
+            failures.count.updateAndGet(count -> Math.max(0, count - 1));
+        }
+    }
+
+    private static Window current(Cache<String, Window> windows, String key, Duration length, long now) {
+        return windows.asMap().compute(key, (k, window) ->
+                window == null || now - window.startNanos >= length.toNanos() ? new Window(now) : window);
+    }
+
+    private static Window peek(Cache<String, Window> windows, String key, Duration length, long now) {
+        Window window = windows.getIfPresent(key);
+        return window == null || now - window.startNanos >= length.toNanos() ? null : window;
+    }
+
+    // Case variants share one window; MySQL's default collation treats them as one user
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static LoginRejectedException throttled(Window window, Duration length, long now) {
+        Duration left = Duration.ofNanos(window.startNanos + length.toNanos() - now);
+        return new LoginRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                "Too many sign-in attempts. Please wait before trying again.", left);
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String limit) {
+        return Counter.builder("auth.attempts.throttled")
+                .description("Authentication attempts refused by the per-IP or per-username limit")
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,145 @@
+package com.triad.resturantfinder.helper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small pool of its own instead of on request threads. Requests run on
+ * virtual threads, which do not bound CPU use, so without it a login storm takes every core
+ * and catalog reads queue behind password checks. Here at most {@code threads} hashes run at
+ * once, at most {@code queue-capacity} wait, and everything beyond that is answered at once
+ * with 503 and {@code Retry-After}. A caller that waited longer than {@code timeout} gets the
+ * same answer.
+ * <p>
+ * {@link #guard} wraps the application's {@link PasswordEncoder}, so every hash goes through
+ * the bulkhead: login checks, the dummy check Spring Security runs for unknown usernames, and
+ * registration.
+ */
+@Slf4j
+@Component
+public class PasswordHashingBulkhead implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Duration retryAfter;
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Counter rejected;
+
+    public PasswordHashingBulkhead(@Value("${auth.password-hashing.threads:0}") int threads,
+                                   @Value("${auth.password-hashing.queue-capacity:32}") int queueCapacity,
+                                   @Value("${auth.password-hashing.timeout:5s}") Duration timeout,
+                                   @Value("${auth.password-hashing.retry-after:2s}") Duration retryAfter,
+                                   MeterRegistry meterRegistry) {
+        // Half the cores by default, so reads always keep the other half
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        this.retryAfter = retryAfter;
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.rejected = Counter.builder("auth.password_hash.rejected")
+                .description("Password hashes refused because the bulkhead was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password_hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password_hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes running")
+                .register(meterRegistry);
+        log.info("Password hashing bulkhead: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Returns an encoder that runs {@code delegate} inside the bulkhead.
+     */
+    public PasswordEncoder guard(PasswordEncoder delegate) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return run(encodeTimer, () -> delegate.encode(rawPassword));
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return delegate.upgradeEncoding(encodedPassword);
+            }
+        };
+    }
+
+    private <T> T run(Timer timer, Supplier<T> hash) {
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timer.record(hash));
+        } catch (RejectedExecutionException e) {
+            throw saturated();
+        }
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Drops it from the queue if it has not started yet
+            result.cancel(false);
+            throw saturated();
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw saturated();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private LoginRejectedException saturated() {
+        rejected.increment();
+        return new LoginRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many sign-ins are being processed. Please try again shortly.", retryAfter);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password_hash")
+                .description("Time spent hashing on the bulkhead threads, without queueing")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,88 @@
+package com.triad.resturantfinder.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache from a username to the principal it authenticates as, so that requests with
+ * an already verified JWT skip the user lookup. Only the username, authorities and
+ * {@code enabled} flag are kept, never the password hash. Token expiry and revocation are
+ * checked by the caller on every request, so entries only expire after the configured TTL.
+ * <p>
+ * Anything that changes a user's role or {@code enabled} flag must call
+ * {@link #evictUser(String)}; {@code UserCacheEvictionListener} does so for JPA updates.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    /**
+     * The parts of a user that authorization needs. Holds no credentials.
+     */
+    public record CachedPrincipal(String username, List<GrantedAuthority> authorities, boolean enabled)
+            implements UserDetails {
+
+        static CachedPrincipal of(UserDetails user) {
+            return new CachedPrincipal(user.getUsername(), List.copyOf(user.getAuthorities()), user.isEnabled());
+        }
+
+        @Override
+        public Collection<? extends GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+
+        @Override
+        public String getPassword() {
+            return null;
+        }
+
+        @Override
+        public String getUsername() {
+            return username;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+    }
+
+    private final Cache<String, CachedPrincipal> cache;
+
+    public PrincipalCache(@Value("${jwt.principal-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${jwt.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public UserDetails get(String username, Supplier<UserDetails> loader) {
+        return cache.get(username, key -> CachedPrincipal.of(loader.get()));
+    }
+
+    public void evictUser(String username) {
+        cache.invalidate(username);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "principals");
+    }
+}
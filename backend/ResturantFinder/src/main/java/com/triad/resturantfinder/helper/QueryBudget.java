@@ -0,0 +1,21 @@
+package com.triad.resturantfinder.helper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of JDBC statements one call of a controller method may execute. A request
+ * over budget is logged, or failed when {@code diagnostics.query-budget.mode=FAIL} (the
+ * "test" profile); see {@link QueryBudgetEnforcer}. Statements are counted from the start
+ * of the handler, so authentication lookups are not included; a JDBC batch counts once.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
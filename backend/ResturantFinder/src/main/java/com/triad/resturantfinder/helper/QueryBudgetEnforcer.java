@@ -0,0 +1,129 @@
+package com.triad.resturantfinder.helper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * Counts the JDBC statements each controller call executes (via {@link RequestQueryCounter})
+ * and reports them in a {@code Server-Timing} header, e.g. {@code db;desc="3 queries";dur=1.9},
+ * and in the {@code http.server.requests.jdbc.statements} summary per handler. Calls that
+ * exceed their {@link QueryBudget} are logged ({@code WARN}) or answered with a 500
+ * ({@code FAIL}), depending on {@code diagnostics.query-budget.mode}.
+ * <p>
+ * In {@code FAIL} mode a transaction over budget fails just before it commits, so it is rolled
+ * back and the client never sees a 500 for a write that took effect. Statements after the
+ * last commit are checked just before the body is written, the last moment the response can
+ * still change, and the header is set then too; responses without a body are only checked,
+ * and only logged, on completion.
+ */
+@Slf4j
+@ControllerAdvice
+public class QueryBudgetEnforcer implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    public enum Mode {
+        OFF, WARN, FAIL
+    }
+
+    private final RequestQueryCounter counter;
+    private final MeterRegistry meterRegistry;
+    private final Mode mode;
+
+    public QueryBudgetEnforcer(RequestQueryCounter counter, MeterRegistry meterRegistry,
+                               @Value("${diagnostics.query-budget.mode:WARN}") String mode) {
+        this.counter = counter;
+        this.meterRegistry = meterRegistry;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            QueryBudget budget = method.getMethodAnnotation(QueryBudget.class);
+            counter.start(method.getBeanType().getSimpleName() + "." + method.getMethod().getName(),
+                    budget == null ? null : budget.value(), mode == Mode.FAIL ? this::checkBeforeCommit : null);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestQueryCounter.Counts counts = counter.current();
+        if (counts == null) {
+            return body;
+        }
+        if (counts.markChecked()) {
+            // Also reached again for the error body if this throws
+            check(counts, mode == Mode.FAIL);
+        }
+        response.getHeaders().set(SERVER_TIMING_HEADER, String.format(Locale.ROOT, "db;desc=\"%d %s\";dur=%.1f",
+                counts.statements(), counts.statements() == 1 ? "query" : "queries", counts.millis()));
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestQueryCounter.Counts counts = counter.current();
+        if (counts == null) {
+            return;
+        }
+        try {
+            if (counts.markChecked()) {
+                check(counts, false);
+            }
+            DistributionSummary.builder("http.server.requests.jdbc.statements")
+                    .description("JDBC statements executed per controller call")
+                    .tag("handler", counts.handler())
+                    .register(meterRegistry)
+                    .record(counts.statements());
+        } finally {
+            counter.stop();
+        }
+    }
+
+    // Once failed, the request is not checked again, neither for the error body nor on completion
+    private void checkBeforeCommit(RequestQueryCounter.Counts counts) {
+        if (isOverBudget(counts) && counts.markChecked()) {
+            check(counts, true);
+        }
+    }
+
+    private boolean isOverBudget(RequestQueryCounter.Counts counts) {
+        return mode != Mode.OFF && counts.budget() != null && counts.statements() > counts.budget();
+    }
+
+    private void check(RequestQueryCounter.Counts counts, boolean fail) {
+        if (!isOverBudget(counts)) {
+            return;
+        }
+        String message = String.format("%s executed %d JDBC statements, over its budget of %d",
+                counts.handler(), counts.statements(), counts.budget());
+        if (fail) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.triad.resturantfinder.helper;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
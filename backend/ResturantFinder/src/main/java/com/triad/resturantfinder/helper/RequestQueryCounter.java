@@ -0,0 +1,107 @@
+package com.triad.resturantfinder.helper;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Counts the JDBC statements executed on the current thread, and the time spent in them,
+ * between {@link #start} and {@link #stop}. Statements run on other threads (such as the
+ * asynchronous export) are not attributed to the request.
+ * <p>
+ * Given a {@code beforeCommit} check, every transaction that runs a statement on the thread
+ * calls it just before committing; an exception from the check rolls the transaction back.
+ */
+@Component
+public class RequestQueryCounter implements QueryExecutionListener {
+
+    static final class Counts {
+        private final Integer budget;
+        private final String handler;
+        private int statements;
+        private long nanos;
+        private long statementStartedAt;
+        private boolean checked;
+        private final TransactionSynchronization commitCheck;
+
+        private Counts(String handler, Integer budget, Consumer<Counts> beforeCommit) {
+            this.handler = handler;
+            this.budget = budget;
+            this.commitCheck = beforeCommit == null ? null : new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    beforeCommit.accept(Counts.this);
+                }
+            };
+        }
+
+        // Once per transaction, from its first statement on this thread
+        private void guardTransaction() {
+            if (commitCheck != null && TransactionSynchronizationManager.isSynchronizationActive()
+                    && !TransactionSynchronizationManager.getSynchronizations().contains(commitCheck)) {
+                TransactionSynchronizationManager.registerSynchronization(commitCheck);
+            }
+        }
+
+        int statements() {
+            return statements;
+        }
+
+        double millis() {
+            return nanos / 1e6;
+        }
+
+        String handler() {
+            return handler;
+        }
+
+        Integer budget() {
+            return budget;
+        }
+
+        // The budget is checked once per request, before the body is written or at completion
+        boolean markChecked() {
+            boolean first = !checked;
+            checked = true;
+            return first;
+        }
+    }
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    void start(String handler, Integer budget, Consumer<Counts> beforeCommit) {
+        CURRENT.set(new Counts(handler, budget, beforeCommit));
+    }
+
+    Counts current() {
+        return CURRENT.get();
+    }
+
+    void stop() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statementStartedAt = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+            counts.nanos += System.nanoTime() - counts.statementStartedAt;
+            counts.guardTransaction();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.triad.resturantfinder.helper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Logs JDBC statements that ran longer than the threshold, with their duration and the number
+ * of bind values (never the values themselves). Every slow statement is counted in
+ * {@code jdbc.slow.queries}; only a sample of them is logged, so a slow database cannot
+ * flood the log.
+ */
+@Slf4j
+@Component
+public class SlowQueryLog implements QueryExecutionListener {
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 2000;
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final Counter slowQueries;
+
+    public SlowQueryLog(@Value("${diagnostics.slow-query.threshold:100ms}") Duration threshold,
+                        @Value("${diagnostics.slow-query.sample-rate:0.1}") double sampleRate,
+                        MeterRegistry meterRegistry) {
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+        this.slowQueries = Counter.builder("jdbc.slow.queries")
+                .description("JDBC statements slower than diagnostics.slow-query.threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        if (execution.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        slowQueries.increment();
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        int bindValues = queries.stream()
+                .flatMap(query -> query.getParametersList().stream())
+                .mapToInt(List::size)
+                .sum();
+        String sql = queries.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        if (sql.length() > MAX_LOGGED_SQL_LENGTH) {
+            sql = sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+        }
+        log.warn("Slow query: {} ms, {} bind values{}{}: {}", execution.getElapsedTime(), bindValues,
+                execution.isBatch() ? ", batch of " + execution.getBatchSize() : "",
+                execution.isSuccess() ? "" : ", failed", sql);
+    }
+}
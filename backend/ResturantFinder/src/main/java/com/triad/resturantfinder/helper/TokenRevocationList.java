@@ -0,0 +1,572 @@
+package com.triad.resturantfinder.helper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Token ids ({@code jti}) revoked by logout, held until the token would have expired anyway.
+ * {@link #isRevoked} runs on every authenticated request, so it is constant time and
+ * allocates nothing: the id (a UUID) is parsed into two longs, a Bloom filter answers almost
+ * every unrevoked id, and only filter hits probe the exact set, an open-addressing table. Both
+ * are read under an optimistic {@link StampedLock} stamp, so readers never block each other
+ * or wait for a revocation unless it overlaps them.
+ * <p>
+ * Entries are also placed on a timing wheel in the slot of their expiry; each tick drops the
+ * entries of the slots it passes. Bloom filters cannot delete, so the filter is rebuilt from
+ * the set once more entries have expired than are left, and more than {@code MIN_TABLE_SIZE}.
+ * <p>
+ * Every revocation is appended to a log file and forced to disk before logout answers. The
+ * force runs outside the writers lock as a group commit: concurrent logouts append while one
+ * of them waits for the disk, and the next force covers all of their lines. On startup the log
+ * is replayed, skipping expired entries, and rewritten with the live ones; it is compacted the
+ * same way whenever it has grown past twice the live set plus {@code MIN_TABLE_SIZE} lines,
+ * so a small set isn't rewritten on every tick. Revocations are per instance: with
+ * several instances the log does not reach the others.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList implements MeterBinder, DisposableBean {
+
+    private static final int BLOOM_HASHES = 7;
+    // With 7 hashes, about 1% false positives at the sized capacity
+    private static final int BLOOM_BITS_PER_ENTRY = 10;
+    private static final int MIN_TABLE_SIZE = 1024;
+
+    /**
+     * Linear-probing table of 128-bit ids with their expiry; an all-zero id marks a free
+     * slot (a random UUID never has both halves zero). Swapped as a whole on resize, so a
+     * reader always sees arrays of one size.
+     */
+    private static final class Table {
+        private final long[] his;
+        private final long[] los;
+        private final long[] expiresAtMillis;
+
+        private Table(int capacity) {
+            his = new long[capacity];
+            los = new long[capacity];
+            expiresAtMillis = new long[capacity];
+        }
+    }
+
+    // One wheel slot: ids as hi/lo pairs
+    private static final class Slot {
+        private long[] ids = new long[0];
+        private int size;
+
+        private void add(long hi, long lo) {
+            if (size + 2 > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(8, ids.length * 2));
+            }
+            ids[size++] = hi;
+            ids[size++] = lo;
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    // Serializes writers (revocations, ticks, log compaction) without blocking readers; not
+    // synchronized, because writers do file I/O on virtual threads
+    private final ReentrantLock writers = new ReentrantLock();
+    // Held while the log is forced or swapped; taken after writers, never before
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final int expectedEntries;
+    private final long tickMillis;
+    private final Slot[] wheel;
+    private final Path logFile;
+    private final Clock clock;
+    private ScheduledExecutorService ticker;
+
+    private Table table = new Table(MIN_TABLE_SIZE);
+    private long[] bloom;
+    private int size;
+    private int expiredSinceBloomRebuild;
+    private long currentTick;
+    private FileChannel logChannel;
+    private int logLines;
+    // Lines ever appended (under writers) and known to be on disk (under syncLock)
+    private volatile long appendedLines;
+    private long syncedLines;
+
+    @Autowired
+    public TokenRevocationList(@Value("${jwt.revocation.expected-entries:100000}") int expectedEntries,
+                               @Value("${jwt.revocation.wheel-tick:1m}") Duration wheelTick,
+                               @Value("${jwt.revocation.wheel-slots:1440}") int wheelSlots,
+                               @Value("${jwt.revocation.log-file:revoked-tokens.log}") String logFile) {
+        this(expectedEntries, wheelTick, wheelSlots, logFile, Clock.systemUTC());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // For tests: time comes from the clock and the wheel only turns when tick() is called
+    TokenRevocationList(int expectedEntries, Duration wheelTick, int wheelSlots, String logFile, Clock clock) {
+        this.clock = clock;
+        this.expectedEntries = expectedEntries;
+        this.tickMillis = wheelTick.toMillis();
+        this.wheel = new Slot[wheelSlots];
+        for (int i = 0; i < wheelSlots; i++) {
+            wheel[i] = new Slot();
+        }
+        this.bloom = new long[bloomWords(expectedEntries)];
+        this.currentTick = clock.millis() / tickMillis;
+        this.logFile = Path.of(logFile);
+        replayLog();
+    }
+
+    /**
+     * Returns whether the token id was revoked. Ids that are not UUIDs, and tokens without
+     * one ({@code null}), were never issued by a revocable login and are never revoked.
+     */
+    public boolean isRevoked(String jti) {
+        if (!isUuid(jti)) {
+            return false;
+        }
+        long hi = parseHex(jti, 0, 8, 9, 13, 14, 18);
+        long lo = parseHex(jti, 19, 23, 24, 36, 36, 36);
+        long stamp = lock.tryOptimisticRead();
+        boolean revoked = contains(hi, lo);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                revoked = contains(hi, lo);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return revoked;
+    }
+
+    /**
+     * Revokes a token id until {@code expiresAt} and appends it to the log. Returns
+     * {@code false} when the token has no revocable id or has already expired.
+     */
+    public boolean revoke(String jti, Date expiresAt) {
+        if (!isUuid(jti) || expiresAt == null || expiresAt.getTime() <= clock.millis()) {
+            return false;
+        }
+        long line;
+        writers.lock();
+        try {
+            add(parseHex(jti, 0, 8, 9, 13, 14, 18), parseHex(jti, 19, 23, 24, 36, 36, 36), expiresAt.getTime());
+            line = append(jti, expiresAt.getTime());
+        } catch (IOException e) {
+            log.error("Could not log the revocation of token {}; it will not survive a restart", jti, e);
+            return true;
+        } finally {
+            writers.unlock();
+        }
+        try {
+            sync(line);
+        } catch (IOException e) {
+            log.error("Could not log the revocation of token {}; it will not survive a restart", jti, e);
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Advances the wheel to the current time, dropping the entries whose tokens expired
+    void tick() {
+        writers.lock();
+        try {
+            long now = clock.millis();
+            long nowTick = now / tickMillis;
+            for (long t = currentTick + 1; t <= nowTick && t <= currentTick + wheel.length; t++) {
+                Slot slot = wheel[(int) (t % wheel.length)];
+                long[] ids = slot.ids;
+                int count = slot.size;
+                slot.ids = new long[0];
+                slot.size = 0;
+                for (int i = 0; i < count; i += 2) {
+                    long expiresAt = expiresAt(ids[i], ids[i + 1]);
+                    if (expiresAt == 0) {
+                        continue;
+                    }
+                    if (expiresAt <= now) {
+                        remove(ids[i], ids[i + 1]);
+                    } else {
+                        // A later revolution of the wheel
+                        schedule(ids[i], ids[i + 1], expiresAt);
+                    }
+                }
+            }
+            currentTick = nowTick;
+            if (expiredSinceBloomRebuild > Math.max(size, MIN_TABLE_SIZE)) {
+                rebuildBloom();
+            }
+            if (logLines > 2 * size + MIN_TABLE_SIZE) {
+                compactLog();
+            }
+        } catch (RuntimeException | IOException e) {
+            log.error("Token revocation cleanup failed", e);
+        } finally {
+            writers.unlock();
+        }
+    }
+
+    private boolean contains(long hi, long lo) {
+        long[] bits = bloom;
+        long h1 = mix(hi);
+        long h2 = mix(lo) | 1;
+        int bitMask = bits.length * 64 - 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (int) (h1 + i * h2) & bitMask;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return slotOf(table, hi, lo) >= 0;
+    }
+
+    // Index of the id in the table, or -1
+    private static int slotOf(Table table, long hi, long lo) {
+        int mask = table.his.length - 1;
+        int slot = home(hi, lo) & mask;
+        // Bounded, so a reader racing a writer cannot spin
+        for (int probes = 0; probes <= mask; probes++) {
+            long slotHi = table.his[slot];
+            long slotLo = table.los[slot];
+            if (slotHi == hi && slotLo == lo) {
+                return slot;
+            }
+            if (slotHi == 0 && slotLo == 0) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private long expiresAt(long hi, long lo) {
+        int slot = slotOf(table, hi, lo);
+        return slot < 0 ? 0 : table.expiresAtMillis[slot];
+    }
+
+    // Writers only, under the writers lock
+    private void add(long hi, long lo, long expiresAtMillis) {
+        long stamp = lock.writeLock();
+        try {
+            int existing = slotOf(table, hi, lo);
+            if (existing >= 0) {
+                table.expiresAtMillis[existing] = Math.max(table.expiresAtMillis[existing], expiresAtMillis);
+                return;
+            }
+            if ((size + 1) * 2 > table.his.length) {
+                table = resized(table, table.his.length * 2);
+            }
+            put(table, hi, lo, expiresAtMillis);
+            size++;
+            if (size > bloom.length * 64 / BLOOM_BITS_PER_ENTRY) {
+                bloom = bloomOf(table, Math.max(expectedEntries, 2 * size));
+                expiredSinceBloomRebuild = 0;
+            } else {
+                setBloomBits(bloom, hi, lo);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        schedule(hi, lo, expiresAtMillis);
+    }
+
+    // Backward-shift deletion, so the table never needs tombstones
+    private void remove(long hi, long lo) {
+        long stamp = lock.writeLock();
+        try {
+            int hole = slotOf(table, hi, lo);
+            if (hole < 0) {
+                return;
+            }
+            int mask = table.his.length - 1;
+            int next = hole;
+            while (true) {
+                next = (next + 1) & mask;
+                if (table.his[next] == 0 && table.los[next] == 0) {
+                    break;
+                }
+                int home = home(table.his[next], table.los[next]) & mask;
+                boolean staysPut = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+                if (!staysPut) {
+                    table.his[hole] = table.his[next];
+                    table.los[hole] = table.los[next];
+                    table.expiresAtMillis[hole] = table.expiresAtMillis[next];
+                    hole = next;
+                }
+            }
+            table.his[hole] = 0;
+            table.los[hole] = 0;
+            table.expiresAtMillis[hole] = 0;
+            size--;
+            expiredSinceBloomRebuild++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void rebuildBloom() {
+        long[] rebuilt = bloomOf(table, Math.max(expectedEntries, 2 * size));
+        long stamp = lock.writeLock();
+        try {
+            bloom = rebuilt;
+            expiredSinceBloomRebuild = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void schedule(long hi, long lo, long expiresAtMillis) {
+        long tick = Math.max(currentTick + 1, (expiresAtMillis + tickMillis - 1) / tickMillis);
+        wheel[(int) (tick % wheel.length)].add(hi, lo);
+    }
+
+    private static Table resized(Table table, int capacity) {
+        Table resized = new Table(capacity);
+        for (int i = 0; i < table.his.length; i++) {
+            if (table.his[i] != 0 || table.los[i] != 0) {
+                put(resized, table.his[i], table.los[i], table.expiresAtMillis[i]);
+            }
+        }
+        return resized;
+    }
+
+    private static void put(Table table, long hi, long lo, long expiresAtMillis) {
+        int mask = table.his.length - 1;
+        int slot = home(hi, lo) & mask;
+        while (table.his[slot] != 0 || table.los[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table.expiresAtMillis[slot] = expiresAtMillis;
+        table.los[slot] = lo;
+        table.his[slot] = hi;
+    }
+
+    private static long[] bloomOf(Table table, int capacity) {
+        long[] bits = new long[bloomWords(capacity)];
+        for (int i = 0; i < table.his.length; i++) {
+            if (table.his[i] != 0 || table.los[i] != 0) {
+                setBloomBits(bits, table.his[i], table.los[i]);
+            }
+        }
+        return bits;
+    }
+
+    private static void setBloomBits(long[] bits, long hi, long lo) {
+        long h1 = mix(hi);
+        long h2 = mix(lo) | 1;
+        int bitMask = bits.length * 64 - 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (int) (h1 + i * h2) & bitMask;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    // A power of two, so bit indexes are masked rather than divided
+    private static int bloomWords(int capacity) {
+        long bitsNeeded = Math.max(64L * 64, (long) capacity * BLOOM_BITS_PER_ENTRY);
+        return (int) ((Long.highestOneBit(bitsNeeded - 1) << 1) / 64);
+    }
+
+    private static int home(long hi, long lo) {
+        return (int) mix(hi ^ Long.rotateLeft(lo, 32));
+    }
+
+    // MurmurHash3's 64-bit finalizer
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    // 8-4-4-4-12 hex digits, as issued by JwtUtil
+    private static boolean isUuid(String jti) {
+        if (jti == null || jti.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = jti.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Hex digits of up to three ranges, most significant first
+    private static long parseHex(String s, int from1, int to1, int from2, int to2, int from3, int to3) {
+        long value = 0;
+        for (int i = from1; i < to1; i++) {
+            value = value << 4 | Character.digit(s.charAt(i), 16);
+        }
+        for (int i = from2; i < to2; i++) {
+            value = value << 4 | Character.digit(s.charAt(i), 16);
+        }
+        for (int i = from3; i < to3; i++) {
+            value = value << 4 | Character.digit(s.charAt(i), 16);
+        }
+        return value;
+    }
+
+    // Lines are "<jti> <expiry in epoch millis>"
+    private void replayLog() {
+        int replayed = 0;
+        if (Files.exists(logFile)) {
+            long now = clock.millis();
+            try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int space = line.indexOf(' ');
+                    if (space < 0) {
+                        continue;
+                    }
+                    String jti = line.substring(0, space);
+                    long expiresAt;
+                    try {
+                        expiresAt = Long.parseLong(line.substring(space + 1).trim());
+                    } catch (NumberFormatException e) {
+                        continue;
+                    }
+                    if (isUuid(jti) && expiresAt > now) {
+                        add(parseHex(jti, 0, 8, 9, 13, 14, 18), parseHex(jti, 19, 23, 24, 36, 36, 36), expiresAt);
+                        replayed++;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read the token revocation log " + logFile.toAbsolutePath(), e);
+            }
+        }
+        try {
+            compactLog();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the token revocation log " + logFile.toAbsolutePath(), e);
+        }
+        if (replayed > 0) {
+            log.info("Restored {} token revocations from {}", replayed, logFile.toAbsolutePath());
+        }
+    }
+
+    // Rewrites the log with the live entries only and swaps it in atomically. Under writers:
+    // the rewritten log holds every appended line that is still live, so it is forced before
+    // the swap and counts as synced
+    private void compactLog() throws IOException {
+        Path parent = logFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path rewritten = Files.createTempFile(parent, logFile.getFileName().toString(), ".tmp");
+        Table live = table;
+        try (BufferedWriter writer = Files.newBufferedWriter(rewritten, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < live.his.length; i++) {
+                if (live.his[i] != 0 || live.los[i] != 0) {
+                    writer.write(jti(live.his[i], live.los[i]) + " " + live.expiresAtMillis[i]);
+                    writer.newLine();
+                }
+            }
+        }
+        try (FileChannel channel = FileChannel.open(rewritten, StandardOpenOption.WRITE)) {
+            channel.force(false);
+        }
+        syncLock.lock();
+        try {
+            Files.move(rewritten, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (logChannel != null) {
+                logChannel.close();
+            }
+            logLines = size;
+            logChannel = FileChannel.open(logFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            syncedLines = appendedLines;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Under writers; returns the line's number for sync()
+    private long append(String jti, long expiresAtMillis) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((jti + " " + expiresAtMillis + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            logChannel.write(line);
+        }
+        logLines++;
+        return ++appendedLines;
+    }
+
+    // Returns once the line is on disk. Whoever forces the log covers every line appended
+    // before it started, so callers queued behind it usually return without forcing again
+    private void sync(long line) throws IOException {
+        syncLock.lock();
+        try {
+            if (syncedLines >= line) {
+                return;
+            }
+            long upTo = appendedLines;
+            logChannel.force(false);
+            syncedLines = upTo;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private static String jti(long hi, long lo) {
+        return new UUID(hi, lo).toString();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jwt.revoked_tokens", this, TokenRevocationList::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        writers.lock();
+        syncLock.lock();
+        try {
+            if (logChannel != null) {
+                logChannel.close();
+            }
+        } finally {
+            syncLock.unlock();
+            writers.unlock();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.triad.resturantfinder.helper;
+
+import com.triad.resturantfinder.model.DAO.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that drops cached principals once a change to a user is committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+
+    private final PrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        String username = user.getUsername();
+        AfterCommit.run(() -> principalCache.evictUser(username));
+    }
+}
@@ -1,5 +1,7 @@
 package com.triad.resturantfinder.helper;
 
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -11,6 +13,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+// Ahead of GlobalExceptionHandler, whose catch-all would otherwise answer these with 500. Only
+// exceptions that always mean bad input belong here.
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class ValidationExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -31,8 +36,8 @@ public class ValidationExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
-    @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequestException(InvalidRequestException ex) {
         ErrorResponse errorResponse = new ErrorResponse(
                 "Invalid input",
                 ex.getMessage(),
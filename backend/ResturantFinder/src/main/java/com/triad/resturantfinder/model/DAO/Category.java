@@ -1,5 +1,6 @@
 package com.triad.resturantfinder.model.DAO;
 
+import com.triad.resturantfinder.service.CategoryChangeListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 @Entity
 @NoArgsConstructor
 @Table(name = "categories")
+@EntityListeners(CategoryChangeListener.class)
 public class Category {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,9 @@
+package com.triad.resturantfinder.model.DAO;
+
+import java.time.Instant;
+
+/**
+ * Read-back of a restaurant's rating columns after an aggregate update.
+ */
+public record RatingAggregate(Long restaurantId, long reviewCount, Double averageRating, Instant updatedAt) {
+}
@@ -3,15 +3,25 @@ package com.triad.resturantfinder.model.DAO;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 @Data
 @Entity
 @NoArgsConstructor
-@Table(name = "restaurants")
+@Table(name = "restaurants", indexes = {
+        @Index(name = "idx_restaurants_average_rating", columnList = "average_rating")
+})
 public class Restaurant {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled table generator instead of IDENTITY so Hibernate can batch inserts; aligned
+    // with existing rows at startup by IdGeneratorRepository
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "restaurant_ids")
+    @TableGenerator(name = "restaurant_ids", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "restaurants", allocationSize = 50)
     @Column(name = "restaurant_id")  // If your DB column is named restaurant_id
     private Long id;
 
@@ -34,12 +44,37 @@ public class Restaurant {
     @Column(name = "price_range")
     private PriceRange priceRange;
 
-    private String rating;
+    // Running aggregates, maintained by RestaurantRepository.addRatings in the same statement.
+    // Not updatable: addRatings doesn't bump the version, so an edit flushed after a concurrent
+    // review would otherwise write the stale values it loaded back over that review
+    @Column(name = "review_count", nullable = false, updatable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    private long ratingSum;
+
+    @Column(name = "average_rating", updatable = false)
+    private Double averageRating;  // null until the first review
+
+    // WGS84 degrees; both null when the location is unknown
+    private Double latitude;
+    private Double longitude;
 
     @Column(name = "photo_url")
     private String photoUrl;
 
+    // Validators for conditional GETs. The version only counts edits of the restaurant itself;
+    // updatedAt also moves when addRatings records a review.
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;  // null for rows untouched since the column was added
+
     @ManyToMany
+    @BatchSize(size = 50)  // safety net for paths that don't fetch categories up front
     @JoinTable(
             name = "restaurant_categories",
             joinColumns = @JoinColumn(name = "restaurant_id"),
@@ -0,0 +1,24 @@
+package com.triad.resturantfinder.model.DAO;
+
+/**
+ * Flat projection of a restaurant joined with one of its categories, for streaming reads.
+ * A restaurant with several categories spans consecutive rows; one without any has a single
+ * row with null category columns.
+ */
+public record RestaurantRow(
+        Long id,
+        String name,
+        String address,
+        String email,
+        Long phone,
+        String description,
+        String hours,
+        PriceRange priceRange,
+        Double averageRating,
+        long reviewCount,
+        String photoUrl,
+        Double latitude,
+        Double longitude,
+        Long categoryId,
+        String categoryName) {
+}
@@ -0,0 +1,10 @@
+package com.triad.resturantfinder.model.DAO;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a review row. Carries the {@code restaurant_id} column instead of
+ * the restaurant entity, so listing reviews never loads the parent.
+ */
+public record ReviewView(Long id, Long restaurantId, Integer rating, String comment, LocalDateTime createdAt) {
+}
@@ -1,4 +1,5 @@
 package com.triad.resturantfinder.model.DAO;
+import com.triad.resturantfinder.helper.UserCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
@@ -10,6 +11,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheEvictionListener.class)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
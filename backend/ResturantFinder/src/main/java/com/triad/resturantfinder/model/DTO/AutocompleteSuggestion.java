@@ -0,0 +1,12 @@
+package com.triad.resturantfinder.model.DTO;
+
+import lombok.Data;
+
+@Data
+public class AutocompleteSuggestion {
+    private String type;  // RESTAURANT or CATEGORY
+    private Long id;
+    private String name;
+    private String rating;  // restaurants only
+    private long count;  // reviews of a restaurant, restaurants in a category
+}
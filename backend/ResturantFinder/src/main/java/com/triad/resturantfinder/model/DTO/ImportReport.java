@@ -0,0 +1,29 @@
+package com.triad.resturantfinder.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportReport {
+    private long received;
+    private long imported;
+    private long failed;
+    private long reviewsImported;
+    private long elapsedMillis;
+    private double restaurantsPerSecond;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;  // more rows failed than are listed
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
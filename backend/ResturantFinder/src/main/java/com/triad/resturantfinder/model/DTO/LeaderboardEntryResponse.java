@@ -0,0 +1,14 @@
+package com.triad.resturantfinder.model.DTO;
+
+import lombok.Data;
+
+@Data
+public class LeaderboardEntryResponse {
+    private int rank;  // 1-based
+    private Long id;
+    private String name;
+    private String priceRange;
+    private Double rating;  // plain mean of the reviews
+    private long reviewCount;
+    private double score;  // Bayesian average the board is ranked by
+}
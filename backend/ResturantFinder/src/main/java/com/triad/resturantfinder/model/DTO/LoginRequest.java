@@ -3,7 +3,7 @@ package com.triad.resturantfinder.model.DTO;
 
 import lombok.Data;
 
-import javax.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotBlank;
 
 @Data
 public class LoginRequest {
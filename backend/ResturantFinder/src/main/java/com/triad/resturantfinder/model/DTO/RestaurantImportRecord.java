@@ -0,0 +1,33 @@
+package com.triad.resturantfinder.model.DTO;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One line of a bulk import. Categories are referenced by name; reviews are optional and
+ * keep their original timestamps when given.
+ */
+@Data
+public class RestaurantImportRecord {
+    private String name;
+    private String address;
+    private String email;
+    private Long phone;
+    private String description;
+    private String hours;
+    private String priceRange;
+    private String photoUrl;
+    private Double latitude;
+    private Double longitude;
+    private List<String> categories;
+    private List<ReviewRecord> reviews;
+
+    @Data
+    public static class ReviewRecord {
+        private Integer rating;
+        private String comment;
+        private LocalDateTime createdAt;
+    }
+}
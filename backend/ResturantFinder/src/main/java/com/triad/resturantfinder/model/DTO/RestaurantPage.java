@@ -0,0 +1,22 @@
+package com.triad.resturantfinder.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantPage {
+    private List<RestaurantResponse> content;
+    private String nextCursor;  // null on the last page
+    // Constraints dropped to find any hits, in the order they were dropped; empty for exact results
+    private List<String> relaxedConstraints = List.of();
+
+    public RestaurantPage(List<RestaurantResponse> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+}
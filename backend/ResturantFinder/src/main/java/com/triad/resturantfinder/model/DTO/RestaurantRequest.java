@@ -1,7 +1,7 @@
 package com.triad.resturantfinder.model.DTO;
 
+import jakarta.validation.constraints.*;
 import lombok.Data;
-import javax.validation.constraints.*;
 import java.util.List;
 
 @Data
@@ -17,7 +17,9 @@ public class RestaurantRequest {
     @Email(message = "Please provide a valid email address")
     private String email;
 
-    @Pattern(regexp = "^\\d{10}$", message = "Phone number must be 10 digits")
+    // A number, so @Pattern would not apply
+    @Min(value = 1_000_000_000L, message = "Phone number must be 10 digits")
+    @Max(value = 9_999_999_999L, message = "Phone number must be 10 digits")
     private Long phone;
 
     @Size(max = 1000, message = "Description cannot exceed 1000 characters")
@@ -30,6 +32,14 @@ public class RestaurantRequest {
     @Pattern(regexp = "^(LOW|MEDIUM|HIGH)$", message = "Price range must be LOW, MEDIUM, or HIGH")
     private String priceRange;
 
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     @NotEmpty(message = "At least one category must be selected")
     private List<Long> categoryIds;
 }
@@ -17,5 +17,9 @@ public class RestaurantResponse {
     private String priceRange;
     private List<CategoryResponse> categories;
     private String rating;
+    private long reviewCount;
     private String photoUrl;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceKm;  // only set by nearby searches
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.triad.resturantfinder.model.DTO;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RestaurantSearchRequest {
+    @Size(max = 100)
+    private String name;
+
+    private List<String> categories;
+
+    @Pattern(regexp = "^(LOW|MEDIUM|HIGH)$")
+    private String priceRange;
+
+    // A minimum average rating such as "4" or "4.5"; anything that is not a number fails validation
+    @DecimalMin("1") @DecimalMax("5")
+    private String rating;
+
+    // Nearby search: lat and lng together switch the results to distance order
+    @DecimalMin("-90.0") @DecimalMax("90.0")
+    private Double lat;
+
+    @DecimalMin("-180.0") @DecimalMax("180.0")
+    private Double lng;
+
+    @Positive(message = "Radius must be positive")
+    private Double radiusKm;
+
+    @Pattern(regexp = "^(ID|RATING|NAME|DISTANCE)$", flags = Pattern.Flag.CASE_INSENSITIVE,
+            message = "Sort must be ID, RATING, NAME or DISTANCE")
+    private String sort;
+
+    private String cursor;
+
+    @Min(value = 1, message = "Page size must be positive")
+    private Integer size;
+}
@@ -0,0 +1,15 @@
+package com.triad.resturantfinder.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewPage {
+    private List<ReviewResponse> content;
+    private String nextCursor;  // null on the last page
+}
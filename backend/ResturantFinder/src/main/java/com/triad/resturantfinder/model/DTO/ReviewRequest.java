@@ -1,7 +1,7 @@
 package com.triad.resturantfinder.model.DTO;
 
+import jakarta.validation.constraints.*;
 import lombok.Data;
-import javax.validation.constraints.*;
 
 @Data
 public class ReviewRequest {
@@ -0,0 +1,43 @@
+package com.triad.resturantfinder.respository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the {@code id_generators} table behind the pooled {@code @TableGenerator}s.
+ * Tables that were filled by IDENTITY (or by hand) must not have ids handed out again, so
+ * each generator is moved past the table's highest id before the application serves writes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdGeneratorRepository {
+
+    // Clears both readings of a pooled value (next block start or current block end)
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Raises generator {@code name} so it only allocates ids above the current maximum of
+     * {@code idColumn} in {@code table}. Returns whether the generator had to move.
+     */
+    @Transactional
+    public boolean alignWithTable(String name, String table, String idColumn) {
+        Long maxId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table, Long.class);
+        long floor = maxId + ALLOCATION_SIZE + 1;
+        if (jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+                floor, name, floor) > 0) {
+            return true;
+        }
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM id_generators WHERE sequence_name = ?", Integer.class, name);
+        if (rows == 0 && maxId > 0) {
+            jdbcTemplate.update("INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)", name, floor);
+            return true;
+        }
+        return false;
+    }
+}
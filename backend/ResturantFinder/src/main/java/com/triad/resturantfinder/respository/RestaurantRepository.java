@@ -1,25 +1,79 @@
 package com.triad.resturantfinder.respository;
 
-import com.triad.resturantfinder.model.DAO.PriceRange;
+import com.triad.resturantfinder.model.DAO.RatingAggregate;
 import com.triad.resturantfinder.model.DAO.Restaurant;
+import com.triad.resturantfinder.model.DAO.RestaurantRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
-    @Query("SELECT DISTINCT r FROM Restaurant r " +
-            "LEFT JOIN r.categories c " +
-            "WHERE (:name IS NULL OR LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
-            "AND (:categories IS NULL OR (SELECT COUNT(DISTINCT c2) FROM r.categories c2 WHERE LOWER(c2.name) IN (:categories)) = (SELECT COUNT(DISTINCT c3) FROM Category c3 WHERE LOWER(c3.name) IN (:categories))) " +
-            "AND (:priceRange IS NULL OR r.priceRange = :priceRange) " +
-            "AND (:rating IS NULL OR CAST(r.rating AS double) >= :rating)")
-    List<Restaurant> findBySearchCriteria(
-            @Param("name") String name,
-            @Param("categories") List<String> categories,
-            @Param("priceRange") PriceRange priceRange,
-            @Param("rating") String rating
-    );
-}
\ No newline at end of file
+    @Query("SELECT DISTINCT r FROM Restaurant r LEFT JOIN FETCH r.categories")
+    List<Restaurant> findAllWithCategories();
+
+    // Read paths that map to RestaurantResponse: categories come back in the same query
+    @EntityGraph(attributePaths = "categories")
+    Optional<Restaurant> findWithCategoriesById(Long id);
+
+    @EntityGraph(attributePaths = "categories")
+    @Query("SELECT r FROM Restaurant r WHERE r.id IN :ids")
+    List<Restaurant> findWithCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Forward-only export: rows arrive in id order, so each restaurant's categories are
+    // consecutive. Needs useCursorFetch=true on MySQL for the fetch size to take effect.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.triad.resturantfinder.model.DAO.RestaurantRow(" +
+            "r.id, r.name, r.address, r.email, r.phone, r.description, r.hours, r.priceRange, " +
+            "r.averageRating, r.reviewCount, r.photoUrl, r.latitude, r.longitude, c.id, c.name) " +
+            "FROM Restaurant r LEFT JOIN r.categories c ORDER BY r.id")
+    Stream<RestaurantRow> streamAllForExport();
+
+    // averageRating is assigned first so it reads the pre-update columns both under standard
+    // SQL and under MySQL's left-to-right evaluation of single-table UPDATEs.
+    @Transactional
+    @Modifying
+    @Query("UPDATE Restaurant r SET " +
+            "r.averageRating = (r.ratingSum + :ratingSum) * 1.0 / (r.reviewCount + :reviewCount), " +
+            "r.reviewCount = r.reviewCount + :reviewCount, " +
+            "r.ratingSum = r.ratingSum + :ratingSum, " +
+            "r.updatedAt = :updatedAt " +
+            "WHERE r.id = :id")
+    int addRatings(@Param("id") Long id, @Param("reviewCount") long reviewCount, @Param("ratingSum") long ratingSum,
+                   @Param("updatedAt") Instant updatedAt);
+
+    @Query("SELECT new com.triad.resturantfinder.model.DAO.RatingAggregate(r.id, r.reviewCount, r.averageRating, r.updatedAt) " +
+            "FROM Restaurant r WHERE r.id = :id")
+    Optional<RatingAggregate> findRatingAggregate(@Param("id") Long id);
+
+    // One-off migration for rows reviewed before the aggregate columns existed
+    @Transactional
+    @Modifying
+    @Query("UPDATE Restaurant r SET " +
+            "r.reviewCount = (SELECT COUNT(v) FROM Review v WHERE v.restaurant.id = r.id), " +
+            "r.ratingSum = (SELECT COALESCE(SUM(v.rating), 0) FROM Review v WHERE v.restaurant.id = r.id), " +
+            "r.averageRating = (SELECT AVG(v.rating) FROM Review v WHERE v.restaurant.id = r.id) " +
+            "WHERE r.reviewCount = 0 AND EXISTS (SELECT v.id FROM Review v WHERE v.restaurant.id = r.id)")
+    int backfillRatingAggregates();
+
+    // Rows written before updated_at existed get a Last-Modified from the first startup after
+    @Transactional
+    @Modifying
+    @Query("UPDATE Restaurant r SET r.updatedAt = :updatedAt WHERE r.updatedAt IS NULL")
+    int backfillUpdatedAt(@Param("updatedAt") Instant updatedAt);
+}
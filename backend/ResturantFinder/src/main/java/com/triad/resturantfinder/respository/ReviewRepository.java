@@ -1,15 +1,31 @@
 package com.triad.resturantfinder.respository;
 
 import com.triad.resturantfinder.model.DAO.Review;
+import com.triad.resturantfinder.model.DAO.ReviewView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    List<Review> findByRestaurantId(Long restaurantId);
 
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.restaurant.id = :restaurantId")
-    Double calculateAverageRating(Long restaurantId);
-}
\ No newline at end of file
+    // Newest first; both pages walk idx_reviews_restaurant_created_id without a filesort
+    @Query("SELECT new com.triad.resturantfinder.model.DAO.ReviewView(r.id, r.restaurant.id, r.rating, r.comment, r.createdAt) " +
+            "FROM Review r WHERE r.restaurant.id = :restaurantId " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findLatestByRestaurantId(@Param("restaurantId") Long restaurantId, Limit limit);
+
+    @Query("SELECT new com.triad.resturantfinder.model.DAO.ReviewView(r.id, r.restaurant.id, r.rating, r.comment, r.createdAt) " +
+            "FROM Review r WHERE r.restaurant.id = :restaurantId " +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findLatestByRestaurantIdBefore(@Param("restaurantId") Long restaurantId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Limit limit);
+}
@@ -0,0 +1,51 @@
+package com.triad.resturantfinder.search;
+
+/**
+ * Bounded optimal-string-alignment distance (Levenshtein plus adjacent transpositions).
+ */
+final class EditDistance {
+
+    private EditDistance() {
+    }
+
+    /**
+     * Smallest number of edits turning {@code query} into some prefix of {@code term}, so that a
+     * half-typed word is not penalised for the letters still to come. Returns {@code max + 1}
+     * as soon as the distance is known to exceed {@code max}.
+     */
+    static int toPrefix(String query, String term, int max) {
+        int m = query.length();
+        int n = Math.min(term.length(), m + max);
+        int[] previous2 = new int[n + 1];
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= m; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= n; j++) {
+                int cost = query.charAt(i - 1) == term.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && query.charAt(i - 1) == term.charAt(j - 2) && query.charAt(i - 2) == term.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        int best = max + 1;
+        for (int j = 0; j <= n; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,37 @@
+package com.triad.resturantfinder.search;
+
+import com.triad.resturantfinder.helper.CursorCodec;
+import com.triad.resturantfinder.helper.InvalidRequestException;
+
+/**
+ * Position after the last hit of a nearby-search page: its distance, then its id.
+ */
+public record GeoCursor(double distanceKm, long id) {
+
+    private static final String KIND = "DISTANCE";
+
+    public static GeoCursor after(GeoHit hit) {
+        return new GeoCursor(hit.distanceKm(), hit.document().id());
+    }
+
+    public static GeoCursor decode(String token) {
+        String[] parts = CursorCodec.decode(token, 3);
+        if (!KIND.equals(parts[0])) {
+            throw new InvalidRequestException("Cursor was issued for sort " + parts[0] + ", not " + KIND);
+        }
+        try {
+            return new GeoCursor(Double.parseDouble(parts[2]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(KIND, Long.toString(id), Double.toString(distanceKm));
+    }
+
+    boolean isBefore(GeoHit hit) {
+        int byDistance = Double.compare(distanceKm, hit.distanceKm());
+        return byDistance < 0 || (byDistance == 0 && id < hit.document().id());
+    }
+}
@@ -0,0 +1,179 @@
+package com.triad.resturantfinder.search;
+
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * Uniform latitude/longitude grid of restaurant ids. Nearest-neighbour queries walk square
+ * rings of cells outwards from the query point and stop as soon as no unvisited cell can
+ * hold anything closer than the current k-th hit (or anything inside the radius), so the
+ * work depends on local density rather than on the size of the catalog.
+ * <p>
+ * Not thread-safe; {@link RestaurantSearchIndex} guards it with its own lock. Longitudes are
+ * not wrapped at the antimeridian.
+ */
+final class GeoGrid {
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_KM;
+
+    static final Comparator<GeoHit> BY_DISTANCE = Comparator.comparingDouble(GeoHit::distanceKm)
+            .thenComparing(hit -> hit.document().id());
+
+    private final double cellDegrees;
+    private final Map<Long, Roaring64Bitmap> cells = new HashMap<>();
+    private int minRow = Integer.MAX_VALUE;
+    private int maxRow = Integer.MIN_VALUE;
+    private int minColumn = Integer.MAX_VALUE;
+    private int maxColumn = Integer.MIN_VALUE;
+
+    GeoGrid(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+    }
+
+    void add(long id, double latitude, double longitude) {
+        int row = row(latitude);
+        int column = column(longitude);
+        cells.computeIfAbsent(key(row, column), key -> new Roaring64Bitmap()).addLong(id);
+        minRow = Math.min(minRow, row);
+        maxRow = Math.max(maxRow, row);
+        minColumn = Math.min(minColumn, column);
+        maxColumn = Math.max(maxColumn, column);
+    }
+
+    void remove(long id, double latitude, double longitude) {
+        long key = key(row(latitude), column(longitude));
+        Roaring64Bitmap cell = cells.get(key);
+        if (cell != null) {
+            cell.removeLong(id);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    void clear() {
+        cells.clear();
+        minRow = minColumn = Integer.MAX_VALUE;
+        maxRow = maxColumn = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Returns up to {@code limit} accepted documents ordered by distance (then id), skipping
+     * everything at or before {@code after}.
+     *
+     * @param candidates optional pre-filter from the other index bitmaps
+     * @param radiusKm   optional upper bound on the distance
+     */
+    List<GeoHit> nearest(double latitude, double longitude, Double radiusKm, Roaring64Bitmap candidates,
+                         LongFunction<SearchDocument> documents, Predicate<SearchDocument> accepted,
+                         GeoCursor after, int limit) {
+        PriorityQueue<GeoHit> hits = new PriorityQueue<>(limit + 1, BY_DISTANCE.reversed());
+        if (cells.isEmpty()) {
+            return List.of();
+        }
+        int centerRow = row(latitude);
+        int centerColumn = column(longitude);
+        int lastRing = Math.max(
+                Math.max(Math.abs(centerRow - minRow), Math.abs(maxRow - centerRow)),
+                Math.max(Math.abs(centerColumn - minColumn), Math.abs(maxColumn - centerColumn)));
+
+        for (int ring = 0; ring <= lastRing; ring++) {
+            double closestPossible = ringLowerBoundKm(latitude, ring);
+            if (radiusKm != null && closestPossible > radiusKm) {
+                break;
+            }
+            if (hits.size() == limit && closestPossible > hits.peek().distanceKm()) {
+                break;
+            }
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                int step = edgeRow || ring == 0 ? 1 : 2 * ring;
+                for (int column = centerColumn - ring; column <= centerColumn + ring; column += step) {
+                    Roaring64Bitmap cell = cells.get(key(row, column));
+                    if (cell != null) {
+                        collect(cell, latitude, longitude, radiusKm, candidates, documents, accepted, after, limit, hits);
+                    }
+                }
+            }
+        }
+        List<GeoHit> result = new ArrayList<>(hits);
+        result.sort(BY_DISTANCE);
+        return result;
+    }
+
+    private void collect(Roaring64Bitmap cell, double latitude, double longitude, Double radiusKm,
+                         Roaring64Bitmap candidates, LongFunction<SearchDocument> documents,
+                         Predicate<SearchDocument> accepted, GeoCursor after, int limit, PriorityQueue<GeoHit> hits) {
+        LongIterator ids = cell.getLongIterator();
+        while (ids.hasNext()) {
+            long id = ids.next();
+            if (candidates != null && !candidates.contains(id)) {
+                continue;
+            }
+            SearchDocument document = documents.apply(id);
+            if (!accepted.test(document)) {
+                continue;
+            }
+            double distanceKm = distanceKm(latitude, longitude, document.latitude(), document.longitude());
+            if (radiusKm != null && distanceKm > radiusKm) {
+                continue;
+            }
+            GeoHit hit = new GeoHit(document, distanceKm);
+            if (after != null && !after.isBefore(hit)) {
+                continue;
+            }
+            if (hits.size() < limit) {
+                hits.add(hit);
+            } else if (BY_DISTANCE.compare(hit, hits.peek()) < 0) {
+                hits.poll();
+                hits.add(hit);
+            }
+        }
+    }
+
+    /**
+     * Lower bound on the distance from the query point to any cell of ring {@code ring} (and
+     * hence to every ring beyond it). The point may sit anywhere in its own cell, so only
+     * {@code ring - 1} whole cells are guaranteed in between; they are measured along the
+     * most poleward parallel the ring reaches, where degrees of longitude are shortest.
+     */
+    private double ringLowerBoundKm(double latitude, int ring) {
+        if (ring == 0) {
+            return 0;
+        }
+        double poleward = Math.min(90, Math.abs(latitude) + (ring + 1) * cellDegrees);
+        double lengthDegrees = (ring - 1) * cellDegrees;
+        return lengthDegrees * KM_PER_DEGREE * Math.cos(Math.toRadians(poleward));
+    }
+
+    static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double phi1 = Math.toRadians(latitude1);
+        double phi2 = Math.toRadians(latitude2);
+        double deltaPhi = phi2 - phi1;
+        double deltaLambda = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaPhi / 2) * Math.sin(deltaPhi / 2)
+                + Math.cos(phi1) * Math.cos(phi2) * Math.sin(deltaLambda / 2) * Math.sin(deltaLambda / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellDegrees);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+}
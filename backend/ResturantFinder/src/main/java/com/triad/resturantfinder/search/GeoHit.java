@@ -0,0 +1,7 @@
+package com.triad.resturantfinder.search;
+
+/**
+ * A document found by a nearby search, with its great-circle distance from the query point.
+ */
+public record GeoHit(SearchDocument document, double distanceKm) {
+}
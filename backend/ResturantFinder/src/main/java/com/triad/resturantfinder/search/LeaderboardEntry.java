@@ -0,0 +1,7 @@
+package com.triad.resturantfinder.search;
+
+/**
+ * A restaurant on a leaderboard, with the Bayesian average it is ranked by.
+ */
+public record LeaderboardEntry(SearchDocument document, double score) {
+}
@@ -0,0 +1,185 @@
+package com.triad.resturantfinder.search;
+
+import com.triad.resturantfinder.model.DAO.PriceRange;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.LongFunction;
+
+/**
+ * Top-rated restaurants per category and price range, ranked by a Bayesian average: every
+ * restaurant starts with {@code priorWeight} virtual reviews of {@code priorMean}, so a single
+ * 5-star review scores barely above the prior while a long record of good reviews converges
+ * to its real mean.
+ * <p>
+ * Each board keeps the ids of all its reviewed restaurants but only ranks the best
+ * {@code 2 * size} of them. Every restaurant outside that window ranks at or below its last
+ * entry, so a changed score only needs to be compared with that entry. When demotions have
+ * shrunk the window below {@code size}, it is refilled from the ids, which happens at most
+ * once every {@code size} demotions.
+ * <p>
+ * Not thread-safe; {@link RestaurantSearchIndex} guards it with its own lock.
+ */
+final class Leaderboards {
+
+    // Best first; ties go to the restaurant with more reviews, then the older one
+    private static final Comparator<Entry> RANK = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::reviewCount).reversed())
+            .thenComparingLong(Entry::id);
+
+    record Entry(long id, double score, long reviewCount) {
+    }
+
+    private static final class Board {
+        private final Roaring64Bitmap members = new Roaring64Bitmap();
+        private final TreeSet<Entry> top = new TreeSet<>(RANK);
+
+        // All ranked members are in the window, so any entry may join it
+        private boolean complete() {
+            return members.getLongCardinality() == top.size();
+        }
+    }
+
+    private final int size;
+    private final int capacity;
+    private final double priorMean;
+    private final double priorWeight;
+    private final Map<Long, Map<PriceRange, Board>> boards = new HashMap<>();
+
+    Leaderboards(int size, double priorMean, double priorWeight) {
+        this.size = size;
+        this.capacity = 2 * size;
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        boards.clear();
+    }
+
+    /**
+     * Moves a restaurant from the boards of its previous snapshot to those of its current one;
+     * either may be {@code null}. {@code documents} resolves the current snapshot of any id.
+     */
+    void replace(SearchDocument previous, SearchDocument current, LongFunction<SearchDocument> documents) {
+        Set<Board> touched = new LinkedHashSet<>();
+        if (ranked(previous)) {
+            Entry entry = entry(previous);
+            for (Long categoryId : previous.categoryIds()) {
+                Map<PriceRange, Board> byPriceRange = boards.get(categoryId);
+                Board board = byPriceRange == null ? null : byPriceRange.get(previous.priceRange());
+                if (board == null) {
+                    continue;
+                }
+                board.members.removeLong(entry.id());
+                board.top.remove(entry);
+                if (board.members.isEmpty()) {
+                    byPriceRange.remove(previous.priceRange());
+                    if (byPriceRange.isEmpty()) {
+                        boards.remove(categoryId);
+                    }
+                } else {
+                    touched.add(board);
+                }
+            }
+        }
+        if (ranked(current)) {
+            Entry entry = entry(current);
+            for (Long categoryId : current.categoryIds()) {
+                Board board = boards.computeIfAbsent(categoryId, key -> new EnumMap<>(PriceRange.class))
+                        .computeIfAbsent(current.priceRange(), key -> new Board());
+                boolean complete = board.complete();
+                if (!complete && board.top.isEmpty()) {
+                    refill(board, documents);
+                }
+                board.members.addLong(entry.id());
+                if (complete || RANK.compare(entry, board.top.last()) < 0) {
+                    board.top.add(entry);
+                    if (board.top.size() > capacity) {
+                        board.top.pollLast();
+                    }
+                }
+            }
+        }
+        for (Board board : touched) {
+            if (board.top.size() < size && !board.complete()) {
+                refill(board, documents);
+            }
+        }
+    }
+
+    /**
+     * Returns the best {@code limit} entries of a category, in one price range or, when
+     * {@code priceRange} is {@code null}, across all of them.
+     */
+    List<Entry> top(Long categoryId, PriceRange priceRange, int limit) {
+        Map<PriceRange, Board> byPriceRange = boards.get(categoryId);
+        if (byPriceRange == null) {
+            return List.of();
+        }
+        List<Entry> entries = new ArrayList<>(limit);
+        if (priceRange != null) {
+            Board board = byPriceRange.get(priceRange);
+            if (board != null) {
+                for (Entry entry : board.top) {
+                    if (entries.size() == limit) {
+                        break;
+                    }
+                    entries.add(entry);
+                }
+            }
+            return entries;
+        }
+        // A restaurant has one price range, so the boards never share an entry
+        for (Board board : byPriceRange.values()) {
+            int taken = 0;
+            for (Entry entry : board.top) {
+                if (taken++ == limit) {
+                    break;
+                }
+                entries.add(entry);
+            }
+        }
+        entries.sort(RANK);
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    double score(SearchDocument document) {
+        return (priorWeight * priorMean + document.rating() * document.reviewCount())
+                / (priorWeight + document.reviewCount());
+    }
+
+    private Entry entry(SearchDocument document) {
+        return new Entry(document.id(), score(document), document.reviewCount());
+    }
+
+    // Unreviewed restaurants have no rating to rank by
+    private static boolean ranked(SearchDocument document) {
+        return document != null && document.reviewCount() > 0 && document.rating() != null
+                && document.priceRange() != null;
+    }
+
+    private void refill(Board board, LongFunction<SearchDocument> documents) {
+        board.top.clear();
+        LongIterator ids = board.members.getLongIterator();
+        while (ids.hasNext()) {
+            board.top.add(entry(documents.apply(ids.next())));
+            if (board.top.size() > capacity) {
+                board.top.pollLast();
+            }
+        }
+    }
+}
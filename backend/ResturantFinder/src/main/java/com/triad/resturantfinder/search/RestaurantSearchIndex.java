@@ -0,0 +1,506 @@
+package com.triad.resturantfinder.search;
+
+import com.triad.resturantfinder.helper.AfterCommit;
+import com.triad.resturantfinder.model.DAO.Category;
+import com.triad.resturantfinder.model.DAO.PriceRange;
+import com.triad.resturantfinder.model.DAO.RatingAggregate;
+import com.triad.resturantfinder.model.DAO.Restaurant;
+import com.triad.resturantfinder.respository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory search index over the restaurant catalog. Name tokens are case- and accent-folded
+ * and map to posting lists of restaurant ids; categories (mirroring the
+ * {@code restaurant_categories} join table) and price ranges each keep a compressed bitmap of
+ * the restaurants carrying them. A search intersects the bitmaps of its constraints and only
+ * checks the rating on the surviving documents. Restaurants with coordinates are also placed
+ * in a {@link GeoGrid} for nearby searches, and name terms are trigram-indexed for
+ * typo-tolerant autocomplete, and reviewed restaurants are ranked on per-category and
+ * price-range {@link Leaderboards}. The index is built by {@code CatalogBootstrap}
+ * before the web server starts and kept current by the service write paths, so searches never
+ * touch the database. Every change bumps a catalog-wide generation, which list responses use
+ * as their ETag.
+ */
+@Slf4j
+@Component
+public class RestaurantSearchIndex {
+
+    private static final Comparator<Suggestion> RESTAURANT_RANK = Comparator
+            .comparing(Suggestion::rating, Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+            .thenComparing(Comparator.comparingLong(Suggestion::count).reversed())
+            .thenComparingInt(Suggestion::edits)
+            .thenComparingLong(Suggestion::id);
+
+    private static final Comparator<Suggestion> CATEGORY_RANK = Comparator.comparingInt(Suggestion::edits)
+            .thenComparing(Comparator.comparingLong(Suggestion::count).reversed())
+            .thenComparing(Suggestion::name);
+
+    private final RestaurantRepository restaurantRepository;
+    private final GeoGrid geoGrid;
+    private final Leaderboards leaderboards;
+
+    private final Map<Long, SearchDocument> documents = new HashMap<>();
+    private final NavigableMap<String, Roaring64Bitmap> postings = new TreeMap<>();
+    private final Map<Long, Roaring64Bitmap> categoryBitmaps = new HashMap<>();
+    private final Map<String, Long> categoryIdsByName = new HashMap<>();
+    private final Map<Long, String> categoryNames = new HashMap<>();
+    private final TrigramIndex termTrigrams = new TrigramIndex();
+    private final Map<PriceRange, Roaring64Bitmap> priceRangeBitmaps = new EnumMap<>(PriceRange.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Generations restart with the process; the epoch keeps ETags from older runs from matching
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private volatile long generation;  // only written under the write lock
+
+    public RestaurantSearchIndex(RestaurantRepository restaurantRepository,
+                                 @Value("${restaurant.search.geo-cell-degrees:0.05}") double geoCellDegrees,
+                                 @Value("${restaurant.leaderboards.size:50}") int leaderboardSize,
+                                 @Value("${restaurant.leaderboards.prior-mean:3.0}") double priorMean,
+                                 @Value("${restaurant.leaderboards.prior-weight:10}") double priorWeight) {
+        this.restaurantRepository = restaurantRepository;
+        this.geoGrid = new GeoGrid(geoCellDegrees);
+        this.leaderboards = new Leaderboards(leaderboardSize, priorMean, priorWeight);
+    }
+
+    public void rebuild() {
+        List<Restaurant> restaurants = restaurantRepository.findAllWithCategories();
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            categoryBitmaps.clear();
+            categoryIdsByName.clear();
+            categoryNames.clear();
+            termTrigrams.clear();
+            priceRangeBitmaps.clear();
+            geoGrid.clear();
+            leaderboards.clear();
+            for (Restaurant restaurant : restaurants) {
+                registerCategoryNames(restaurant.getCategories());
+                put(SearchDocument.of(restaurant));
+            }
+            postings.values().forEach(Roaring64Bitmap::runOptimize);
+            categoryBitmaps.values().forEach(Roaring64Bitmap::runOptimize);
+            priceRangeBitmaps.values().forEach(Roaring64Bitmap::runOptimize);
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built with {} restaurants, {} name terms and {} categories",
+                documents.size(), postings.size(), categoryBitmaps.size());
+    }
+
+    /**
+     * Snapshots the restaurant now (while its lazy associations are still reachable) and
+     * publishes it to the index once the current transaction commits.
+     */
+    public void index(Restaurant restaurant) {
+        SearchDocument document = SearchDocument.of(restaurant);
+        List<Category> categories = restaurant.getCategories() == null ? List.of() : List.copyOf(restaurant.getCategories());
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                registerCategoryNames(categories);
+                put(document);
+                generation++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Publishes a new rating aggregate after commit, re-ranking the restaurant on its
+     * leaderboards. Aggregates only ever grow their review count, so an update that commits
+     * out of order with a newer one is ignored.
+     */
+    public void updateRating(RatingAggregate aggregate) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                SearchDocument document = documents.get(aggregate.restaurantId());
+                if (document != null && aggregate.reviewCount() >= document.reviewCount()) {
+                    SearchDocument rated = document.withRating(aggregate);
+                    documents.put(document.id(), rated);
+                    leaderboards.replace(document, rated, documents::get);
+                    generation++;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns at most {@code limit} matching documents that sort after the cursor, in sort
+     * order. Only a heap of {@code limit} entries is kept, so the cost of a page does not
+     * depend on how many restaurants match in total.
+     */
+    public List<SearchDocument> search(SearchCriteria criteria, SearchSort sort, SearchCursor cursor, int limit) {
+        Comparator<SearchDocument> order = sort.comparator();
+        SearchDocument after = cursor == null ? null : cursor.after();
+        PriorityQueue<SearchDocument> page = new PriorityQueue<>(limit + 1, order.reversed());
+        lock.readLock().lock();
+        try {
+            Predicate<SearchDocument> accepted = document -> criteria.matchesRating(document)
+                    && (after == null || order.compare(document, after) > 0);
+            Roaring64Bitmap candidates = candidates(criteria);
+            if (candidates == null) {
+                for (SearchDocument document : documents.values()) {
+                    offer(page, limit, order, accepted, document);
+                }
+            } else {
+                LongIterator ids = candidates.getLongIterator();
+                while (ids.hasNext()) {
+                    offer(page, limit, order, accepted, documents.get(ids.next()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<SearchDocument> result = new ArrayList<>(page);
+        result.sort(order);
+        return result;
+    }
+
+    /**
+     * Returns at most {@code limit} matching documents ordered by distance from the given point
+     * (then id), after the cursor and optionally within {@code radiusKm}. Restaurants without
+     * coordinates never match.
+     */
+    public List<GeoHit> nearby(SearchCriteria criteria, double latitude, double longitude, Double radiusKm,
+                               GeoCursor cursor, int limit) {
+        lock.readLock().lock();
+        try {
+            return geoGrid.nearest(latitude, longitude, radiusKm, candidates(criteria),
+                    documents::get, criteria::matchesRating, cursor, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggests categories and restaurants whose names start with the query, allowing a typo or
+     * two in longer tokens. Every query token must match some name token of a restaurant;
+     * restaurants rank by rating (unrated last), then review count, then total typos. Categories
+     * (at most {@code categoryLimit}) come first and rank by typos, then size.
+     */
+    public List<Suggestion> autocomplete(String query, int limit, int categoryLimit) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Suggestion> suggestions = new ArrayList<>(suggestCategories(String.join(" ", tokens), Math.min(limit, categoryLimit)));
+            suggestions.addAll(suggestRestaurants(tokens, limit - suggestions.size()));
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Suggestion> suggestRestaurants(List<String> tokens, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        // matchesByEdits.get(i)[e] holds the restaurants matching token i with exactly e typos
+        List<Roaring64Bitmap[]> matchesByEdits = new ArrayList<>(tokens.size());
+        Roaring64Bitmap candidates = null;
+        for (String token : tokens) {
+            Roaring64Bitmap[] byEdits = fuzzyMatchToken(token);
+            Roaring64Bitmap any = byEdits[0].clone();
+            for (int e = 1; e < byEdits.length; e++) {
+                any.or(byEdits[e]);
+            }
+            if (candidates == null) {
+                candidates = any;
+            } else {
+                candidates.and(any);
+            }
+            matchesByEdits.add(byEdits);
+        }
+
+        PriorityQueue<Suggestion> top = new PriorityQueue<>(limit + 1, RESTAURANT_RANK.reversed());
+        LongIterator ids = candidates.getLongIterator();
+        while (ids.hasNext()) {
+            long id = ids.next();
+            int edits = 0;
+            for (Roaring64Bitmap[] byEdits : matchesByEdits) {
+                int e = 0;
+                while (!byEdits[e].contains(id)) {
+                    e++;
+                }
+                edits += e;
+            }
+            SearchDocument document = documents.get(id);
+            Suggestion suggestion = new Suggestion(Suggestion.Kind.RESTAURANT, id, document.name(),
+                    document.rating(), document.reviewCount(), edits);
+            if (top.size() < limit) {
+                top.add(suggestion);
+            } else if (RESTAURANT_RANK.compare(suggestion, top.peek()) < 0) {
+                top.poll();
+                top.add(suggestion);
+            }
+        }
+        List<Suggestion> result = new ArrayList<>(top);
+        result.sort(RESTAURANT_RANK);
+        return result;
+    }
+
+    // Exact prefix matches come from the sorted postings, typos from the trigram candidates
+    private Roaring64Bitmap[] fuzzyMatchToken(String token) {
+        int maxEdits = allowedEdits(token);
+        Roaring64Bitmap[] byEdits = new Roaring64Bitmap[maxEdits + 1];
+        byEdits[0] = matchToken(token);
+        for (int e = 1; e <= maxEdits; e++) {
+            byEdits[e] = new Roaring64Bitmap();
+        }
+        if (maxEdits > 0) {
+            for (String term : termTrigrams.candidates(token, Math.max(1, token.length() - 3 * maxEdits))) {
+                int edits = EditDistance.toPrefix(token, term, maxEdits);
+                if (edits > 0 && edits <= maxEdits) {
+                    byEdits[edits].or(postings.get(term));
+                }
+            }
+        }
+        return byEdits;
+    }
+
+    // Category names are few, so each is compared directly, from every word start
+    private List<Suggestion> suggestCategories(String query, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        int maxEdits = allowedEdits(query);
+        List<Suggestion> matches = new ArrayList<>();
+        categoryIdsByName.forEach((name, categoryId) -> {
+            Roaring64Bitmap members = categoryBitmaps.get(categoryId);
+            if (members == null) {
+                return;
+            }
+            int best = maxEdits + 1;
+            for (int start = 0; start < name.length() && best > 0; start++) {
+                if (start == 0 || !Character.isLetterOrDigit(name.charAt(start - 1))) {
+                    best = Math.min(best, EditDistance.toPrefix(query, name.substring(start), maxEdits));
+                }
+            }
+            if (best <= maxEdits) {
+                matches.add(new Suggestion(Suggestion.Kind.CATEGORY, categoryId,
+                        categoryNames.getOrDefault(categoryId, name), null, members.getLongCardinality(), best));
+            }
+        });
+        matches.sort(CATEGORY_RANK);
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    // No typos in very short tokens, where almost every term would be one edit away
+    private static int allowedEdits(String token) {
+        if (token.length() < 4) {
+            return 0;
+        }
+        return token.length() < 8 ? 1 : 2;
+    }
+
+    private static void offer(PriorityQueue<SearchDocument> page, int limit, Comparator<SearchDocument> order,
+                              Predicate<SearchDocument> accepted, SearchDocument document) {
+        if (!accepted.test(document)) {
+            return;
+        }
+        if (page.size() < limit) {
+            page.add(document);
+        } else if (order.compare(document, page.peek()) < 0) {
+            page.poll();
+            page.add(document);
+        }
+    }
+
+    /**
+     * Returns the best {@code limit} (at most the configured leaderboard size) reviewed
+     * restaurants of a folded category name, in one price range or across all of them when
+     * {@code priceRange} is {@code null}. Only walks the kept entries, never the category.
+     */
+    public List<LeaderboardEntry> leaderboard(String category, PriceRange priceRange, int limit) {
+        lock.readLock().lock();
+        try {
+            Long categoryId = categoryIdsByName.get(category);
+            if (categoryId == null) {
+                return List.of();
+            }
+            List<LeaderboardEntry> result = new ArrayList<>();
+            for (Leaderboards.Entry entry : leaderboards.top(categoryId, priceRange, Math.min(limit, leaderboards.size()))) {
+                result.add(new LeaderboardEntry(documents.get(entry.id()), entry.score()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the folded category name carried by the most restaurants. A name no restaurant
+     * carries (typically a misspelling) matches nothing at all, so it is returned first.
+     */
+    public String leastSelectiveCategory(List<String> categories) {
+        lock.readLock().lock();
+        try {
+            String widest = null;
+            long widestSize = -1;
+            for (String category : categories) {
+                Long categoryId = categoryIdsByName.get(category);
+                Roaring64Bitmap members = categoryId == null ? null : categoryBitmaps.get(categoryId);
+                if (members == null || members.isEmpty()) {
+                    return category;
+                }
+                long size = members.getLongCardinality();
+                if (size > widestSize) {
+                    widest = category;
+                    widestSize = size;
+                }
+            }
+            return widest;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the indexed snapshot of a restaurant, or {@code null} if it is not indexed.
+     */
+    public SearchDocument document(Long id) {
+        lock.readLock().lock();
+        try {
+            return documents.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Identifies the current state of the whole catalog: any indexed change yields a new value.
+     */
+    public String catalogVersion() {
+        return epoch + "." + Long.toString(generation, 36);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersects the bitmaps of every bitmap-backed constraint, smallest first. Returns
+     * {@code null} when the criteria constrain nothing the bitmaps know about, meaning every
+     * document is a candidate.
+     */
+    private Roaring64Bitmap candidates(SearchCriteria criteria) {
+        List<Roaring64Bitmap> filters = new ArrayList<>();
+        if (criteria.name() != null) {
+            List<String> queryTokens = TextNormalizer.tokenize(criteria.name());
+            for (String token : queryTokens) {
+                filters.add(matchToken(token));
+            }
+        }
+        if (criteria.categories() != null) {
+            for (String category : criteria.categories()) {
+                Long categoryId = categoryIdsByName.get(category);
+                filters.add(categoryId == null ? new Roaring64Bitmap() : categoryBitmaps.getOrDefault(categoryId, new Roaring64Bitmap()));
+            }
+        }
+        if (criteria.priceRange() != null) {
+            filters.add(priceRangeBitmaps.getOrDefault(criteria.priceRange(), new Roaring64Bitmap()));
+        }
+        if (filters.isEmpty()) {
+            return null;
+        }
+        filters.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+        Roaring64Bitmap result = filters.get(0).clone();
+        for (int i = 1; i < filters.size() && !result.isEmpty(); i++) {
+            result.and(filters.get(i));
+        }
+        return result;
+    }
+
+    // A query token matches every name token it is a prefix of.
+    private Roaring64Bitmap matchToken(String token) {
+        Roaring64Bitmap ids = new Roaring64Bitmap();
+        postings.subMap(token, true, token + Character.MAX_VALUE, true).values().forEach(ids::or);
+        return ids;
+    }
+
+    private void registerCategoryNames(List<Category> categories) {
+        if (categories != null) {
+            categories.forEach(category -> {
+                categoryIdsByName.put(TextNormalizer.fold(category.getName()), category.getId());
+                categoryNames.put(category.getId(), category.getName());
+            });
+        }
+    }
+
+    // Keeps the indexed rating when the snapshot is older, as updateRating does
+    private void put(SearchDocument snapshot) {
+        long id = snapshot.id();
+        SearchDocument document = snapshot.withNewerRating(documents.get(id));
+        SearchDocument previous = documents.put(id, document);
+        if (previous != null) {
+            previous.nameTokens().forEach(token -> {
+                if (remove(postings, token, id)) {
+                    termTrigrams.remove(token);
+                }
+            });
+            previous.categoryIds().forEach(categoryId -> remove(categoryBitmaps, categoryId, id));
+            if (previous.priceRange() != null) {
+                remove(priceRangeBitmaps, previous.priceRange(), id);
+            }
+            if (previous.hasLocation()) {
+                geoGrid.remove(id, previous.latitude(), previous.longitude());
+            }
+        }
+        leaderboards.replace(previous, document, documents::get);
+        document.nameTokens().forEach(token -> postings.computeIfAbsent(token, key -> {
+            termTrigrams.add(key);
+            return new Roaring64Bitmap();
+        }).addLong(id));
+        document.categoryIds().forEach(categoryId -> categoryBitmaps.computeIfAbsent(categoryId, key -> new Roaring64Bitmap()).addLong(id));
+        if (document.priceRange() != null) {
+            priceRangeBitmaps.computeIfAbsent(document.priceRange(), key -> new Roaring64Bitmap()).addLong(id);
+        }
+        if (document.hasLocation()) {
+            geoGrid.add(id, document.latitude(), document.longitude());
+        }
+    }
+
+    // Returns whether the key lost its last id and was dropped
+    private static <K> boolean remove(Map<K, Roaring64Bitmap> bitmaps, K key, long id) {
+        Roaring64Bitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.removeLong(id);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+                return true;
+            }
+        }
+        return false;
+    }
+}
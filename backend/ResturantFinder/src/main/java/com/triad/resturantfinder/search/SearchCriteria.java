@@ -0,0 +1,44 @@
+package com.triad.resturantfinder.search;
+
+import com.triad.resturantfinder.model.DAO.PriceRange;
+
+import java.util.List;
+
+/**
+ * Normalized search filters. Every non-null field is a constraint; {@code categories} holds
+ * folded category names that a restaurant must all carry. Name, category and price filters
+ * are answered by the index bitmaps, only the rating is checked per document.
+ */
+public record SearchCriteria(
+        String name,
+        List<String> categories,
+        PriceRange priceRange,
+        Double minRating) {
+
+    public static final SearchCriteria NONE = new SearchCriteria(null, null, null, null);
+
+    public boolean hasConstraints() {
+        return name != null || categories != null || priceRange != null || minRating != null;
+    }
+
+    public SearchCriteria withoutName() {
+        return new SearchCriteria(null, categories, priceRange, minRating);
+    }
+
+    public SearchCriteria withoutCategory(String category) {
+        List<String> remaining = categories.stream().filter(other -> !other.equals(category)).toList();
+        return new SearchCriteria(name, remaining.isEmpty() ? null : remaining, priceRange, minRating);
+    }
+
+    public SearchCriteria withoutPriceRange() {
+        return new SearchCriteria(name, categories, null, minRating);
+    }
+
+    public SearchCriteria withoutMinRating() {
+        return new SearchCriteria(name, categories, priceRange, null);
+    }
+
+    boolean matchesRating(SearchDocument document) {
+        return minRating == null || (document.rating() != null && document.rating() >= minRating);
+    }
+}
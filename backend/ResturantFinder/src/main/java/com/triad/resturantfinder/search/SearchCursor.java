@@ -0,0 +1,30 @@
+package com.triad.resturantfinder.search;
+
+import com.triad.resturantfinder.helper.CursorCodec;
+import com.triad.resturantfinder.helper.InvalidRequestException;
+
+/**
+ * Position after the last document of a page, for a given sort order.
+ */
+public record SearchCursor(SearchSort sort, SearchDocument after) {
+
+    public static SearchCursor after(SearchSort sort, SearchDocument document) {
+        return new SearchCursor(sort, document);
+    }
+
+    public static SearchCursor decode(String token, SearchSort expectedSort) {
+        String[] parts = CursorCodec.decode(token, 3);
+        if (!expectedSort.name().equals(parts[0])) {
+            throw new InvalidRequestException("Cursor was issued for sort " + parts[0] + ", not " + expectedSort);
+        }
+        try {
+            return new SearchCursor(expectedSort, expectedSort.probe(Long.valueOf(parts[1]), parts[2]));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(sort.name(), after.id().toString(), sort.sortValue(after));
+    }
+}
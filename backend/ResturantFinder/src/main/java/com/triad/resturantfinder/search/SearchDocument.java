@@ -0,0 +1,79 @@
+package com.triad.resturantfinder.search;
+
+import com.triad.resturantfinder.model.DAO.Category;
+import com.triad.resturantfinder.model.DAO.PriceRange;
+import com.triad.resturantfinder.model.DAO.RatingAggregate;
+import com.triad.resturantfinder.model.DAO.Restaurant;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the restaurant fields the search index filters on, plus the
+ * validators conditional GETs are answered from.
+ */
+public record SearchDocument(
+        Long id,
+        String name,
+        String sortName,
+        List<String> nameTokens,
+        PriceRange priceRange,
+        Double rating,
+        long reviewCount,
+        Set<Long> categoryIds,
+        Double latitude,
+        Double longitude,
+        long version,
+        Instant updatedAt) {
+
+    public static SearchDocument of(Restaurant restaurant) {
+        Set<Long> categoryIds = restaurant.getCategories() == null ? Set.of() :
+                restaurant.getCategories().stream()
+                        .map(Category::getId)
+                        .collect(Collectors.toUnmodifiableSet());
+        return new SearchDocument(
+                restaurant.getId(),
+                restaurant.getName(),
+                TextNormalizer.fold(restaurant.getName()),
+                TextNormalizer.tokenize(restaurant.getName()),
+                restaurant.getPriceRange(),
+                restaurant.getAverageRating(),
+                restaurant.getReviewCount(),
+                categoryIds,
+                restaurant.getLatitude(),
+                restaurant.getLongitude(),
+                restaurant.getVersion(),
+                restaurant.getUpdatedAt());
+    }
+
+    boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+
+    static SearchDocument probe(Long id, String sortName, Double rating) {
+        return new SearchDocument(id, sortName, sortName, List.of(), null, rating, 0, Set.of(), null, null, 0, null);
+    }
+
+    /**
+     * This snapshot with {@code other}'s rating aggregate if that one has seen more reviews.
+     * Review counts only grow, so an edit that loaded the row before a review committed must
+     * not roll the indexed rating back.
+     */
+    SearchDocument withNewerRating(SearchDocument other) {
+        if (other == null || other.reviewCount <= reviewCount) {
+            return this;
+        }
+        Instant newer = updatedAt == null || other.updatedAt != null && other.updatedAt.isAfter(updatedAt)
+                ? other.updatedAt : updatedAt;
+        return new SearchDocument(id, name, sortName, nameTokens, priceRange,
+                other.rating, other.reviewCount, categoryIds, latitude, longitude, version, newer);
+    }
+
+    SearchDocument withRating(RatingAggregate aggregate) {
+        return new SearchDocument(id, name, sortName, nameTokens, priceRange,
+                aggregate.averageRating(), aggregate.reviewCount(), categoryIds, latitude, longitude,
+                version, aggregate.updatedAt());
+    }
+}
@@ -0,0 +1,46 @@
+package com.triad.resturantfinder.search;
+
+import java.util.Comparator;
+
+/**
+ * Stable result orders for keyset pagination. Every order ends with the restaurant id, so two
+ * documents never compare equal and a cursor identifies a unique position.
+ */
+public enum SearchSort {
+    ID(Comparator.comparing(SearchDocument::id)),
+    RATING(Comparator.comparing(SearchDocument::rating, Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+            .thenComparing(SearchDocument::id)),
+    NAME(Comparator.comparing(SearchDocument::sortName).thenComparing(SearchDocument::id));
+
+    private final Comparator<SearchDocument> comparator;
+
+    SearchSort(Comparator<SearchDocument> comparator) {
+        this.comparator = comparator;
+    }
+
+    public Comparator<SearchDocument> comparator() {
+        return comparator;
+    }
+
+    /**
+     * The value, besides the id, that a cursor has to remember for this order.
+     */
+    String sortValue(SearchDocument document) {
+        return switch (this) {
+            case ID -> "";
+            case RATING -> document.rating() == null ? "" : document.rating().toString();
+            case NAME -> document.sortName();
+        };
+    }
+
+    /**
+     * Rebuilds a document that sorts exactly where the cursor left off.
+     */
+    SearchDocument probe(Long id, String sortValue) {
+        return switch (this) {
+            case ID -> SearchDocument.probe(id, "", null);
+            case RATING -> SearchDocument.probe(id, "", sortValue.isEmpty() ? null : Double.valueOf(sortValue));
+            case NAME -> SearchDocument.probe(id, sortValue, null);
+        };
+    }
+}
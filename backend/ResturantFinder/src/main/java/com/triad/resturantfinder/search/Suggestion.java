@@ -0,0 +1,12 @@
+package com.triad.resturantfinder.search;
+
+/**
+ * An autocomplete hit. {@code edits} is the number of typos the match needed; restaurants
+ * carry their rating, categories the number of indexed restaurants in them.
+ */
+public record Suggestion(Kind kind, long id, String name, Double rating, long count, int edits) {
+
+    public enum Kind {
+        RESTAURANT, CATEGORY
+    }
+}
@@ -0,0 +1,75 @@
+package com.triad.resturantfinder.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigrams of the indexed name terms, used to find candidates for a misspelt query token
+ * without comparing it to every term. Terms are padded at the front only, because queries are
+ * matched against term prefixes. A query of length {@code n} has {@code n} trigrams and one
+ * substitution, insertion or deletion destroys at most three of them, so a term within
+ * {@code k} such edits of a prefix still shares {@code n - 3k}. Transpositions can cost four,
+ * which only matters for the shortest tokens that are allowed a typo.
+ * <p>
+ * Not thread-safe; {@link RestaurantSearchIndex} guards it with its own lock.
+ */
+final class TrigramIndex {
+    private static final String PADDING = "$$";
+
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+
+    void add(String term) {
+        for (String trigram : trigrams(term)) {
+            termsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(term);
+        }
+    }
+
+    void remove(String term) {
+        for (String trigram : trigrams(term)) {
+            Set<String> terms = termsByTrigram.get(trigram);
+            if (terms != null) {
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    termsByTrigram.remove(trigram);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        termsByTrigram.clear();
+    }
+
+    /**
+     * Terms sharing at least {@code minShared} trigrams with the query.
+     */
+    List<String> candidates(String query, int minShared) {
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : trigrams(query)) {
+            for (String term : termsByTrigram.getOrDefault(trigram, Set.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+        List<String> result = new ArrayList<>();
+        shared.forEach((term, count) -> {
+            if (count >= minShared) {
+                result.add(term);
+            }
+        });
+        return result;
+    }
+
+    private static Set<String> trigrams(String term) {
+        String padded = PADDING + term;
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,44 @@
+package com.triad.resturantfinder.service;
+
+import com.triad.resturantfinder.respository.IdGeneratorRepository;
+import com.triad.resturantfinder.respository.RestaurantRepository;
+import com.triad.resturantfinder.search.RestaurantSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Prepares the catalog before the web server accepts traffic: migrates data the in-memory
+ * structures rely on, then builds them. Steps run in the order listed here.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogBootstrap implements SmartInitializingSingleton {
+
+    private final IdGeneratorRepository idGeneratorRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantSearchIndex searchIndex;
+    private final CategoryDictionary categoryDictionary;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (idGeneratorRepository.alignWithTable("restaurants", "restaurants", "restaurant_id")
+                | idGeneratorRepository.alignWithTable("reviews", "reviews", "id")) {
+            log.info("Moved id generators past existing restaurant and review ids");
+        }
+        int backfilled = restaurantRepository.backfillRatingAggregates();
+        if (backfilled > 0) {
+            log.info("Backfilled rating aggregates for {} restaurants", backfilled);
+        }
+        int stamped = restaurantRepository.backfillUpdatedAt(Instant.now());
+        if (stamped > 0) {
+            log.info("Stamped updated_at on {} restaurants", stamped);
+        }
+        categoryDictionary.refresh();
+        searchIndex.rebuild();
+    }
+}
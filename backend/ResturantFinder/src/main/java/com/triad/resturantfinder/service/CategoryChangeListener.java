@@ -0,0 +1,30 @@
+package com.triad.resturantfinder.service;
+
+import com.triad.resturantfinder.helper.AfterCommit;
+import com.triad.resturantfinder.model.DAO.Category;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that reloads the {@link CategoryDictionary} once a category change commits.
+ */
+@Component
+public class CategoryChangeListener {
+
+    private final CategoryDictionary categoryDictionary;
+
+    // Lazy: the dictionary needs the repositories, which need the entity manager that creates this listener
+    public CategoryChangeListener(@Lazy CategoryDictionary categoryDictionary) {
+        this.categoryDictionary = categoryDictionary;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void refresh(Category category) {
+        AfterCommit.run(categoryDictionary::refresh);
+    }
+}
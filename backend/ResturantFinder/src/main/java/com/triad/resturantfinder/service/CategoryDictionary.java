@@ -0,0 +1,100 @@
+package com.triad.resturantfinder.service;
+
+import com.triad.resturantfinder.model.DAO.Category;
+import com.triad.resturantfinder.model.DTO.CategoryResponse;
+import com.triad.resturantfinder.respository.CategoryRepository;
+import com.triad.resturantfinder.search.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the (small, rarely changing) categories table. Lookups never hit the
+ * database; the whole table is reloaded in one query when a category is written through JPA
+ * ({@code CategoryChangeListener}) or when a lookup asks for an id that is not known yet.
+ * The entities handed out are detached and shared, so callers must not modify them.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryDictionary {
+
+    // version is derived from the content, so it survives restarts and matches across instances
+    private record Snapshot(Map<Long, Category> byId, Map<String, Category> byName, List<CategoryResponse> responses,
+                            String version) {
+    }
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), List.of(), "0");
+
+    // Not synchronized: a virtual thread blocked on the query inside would pin its carrier
+    private final Lock refreshLock = new ReentrantLock();
+
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            load();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void load() {
+        List<Category> categories = categoryRepository.findAll();
+        categories.sort(Comparator.comparing(Category::getId));
+        Map<Long, Category> byId = categories.stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+        Map<String, Category> byName = categories.stream()
+                .collect(Collectors.toMap(category -> TextNormalizer.fold(category.getName()), Function.identity(), (a, b) -> a));
+        List<CategoryResponse> responses = categories.stream().map(CategoryDictionary::toResponse).toList();
+        snapshot = new Snapshot(Map.copyOf(byId), Map.copyOf(byName), responses,
+                Integer.toHexString(responses.hashCode()));
+    }
+
+    /**
+     * Resolves ids in the given order, silently skipping ids that do not exist.
+     */
+    public List<Category> resolve(Collection<Long> ids) {
+        Snapshot current = snapshot;
+        if (!current.byId().keySet().containsAll(ids)) {
+            refresh();
+            current = snapshot;
+        }
+        Map<Long, Category> byId = current.byId();
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    public Optional<Category> findByName(String name) {
+        return Optional.ofNullable(snapshot.byName().get(TextNormalizer.fold(name)));
+    }
+
+    public List<CategoryResponse> all() {
+        return snapshot.responses();
+    }
+
+    public String version() {
+        return snapshot.version();
+    }
+
+    private static CategoryResponse toResponse(Category category) {
+        CategoryResponse response = new CategoryResponse();
+        response.setId(category.getId());
+        response.setName(category.getName());
+        return response;
+    }
+}
@@ -0,0 +1,57 @@
+package com.triad.resturantfinder.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.triad.resturantfinder.helper.AfterCommit;
+import com.triad.resturantfinder.model.DTO.RestaurantResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of mapped restaurant details, bounded by size and age. Write paths
+ * evict the affected id after commit; the TTL only bounds staleness from changes made
+ * outside this application. Cached responses are shared and must not be modified.
+ */
+@Component
+public class RestaurantDetailCache implements MeterBinder {
+
+    private final Cache<Long, RestaurantResponse> cache;
+
+    public RestaurantDetailCache(@Value("${restaurant.detail-cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${restaurant.detail-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public RestaurantResponse get(Long id, Function<Long, RestaurantResponse> loader) {
+        return cache.get(id, loader);
+    }
+
+    public void evictAfterCommit(Long id) {
+        AfterCommit.run(() -> cache.invalidate(id));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    // Hit ratio, evictions and size as cache.* meters tagged cache=restaurantDetails
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "restaurantDetails");
+    }
+}
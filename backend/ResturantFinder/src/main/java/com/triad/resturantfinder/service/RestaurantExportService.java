@@ -0,0 +1,108 @@
+package com.triad.resturantfinder.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.triad.resturantfinder.Mappers.RestaurantMapper;
+import com.triad.resturantfinder.model.DAO.RestaurantRow;
+import com.triad.resturantfinder.model.DTO.CategoryResponse;
+import com.triad.resturantfinder.model.DTO.RestaurantResponse;
+import com.triad.resturantfinder.respository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog as newline-delimited JSON, one {@link RestaurantResponse} per
+ * line. Rows are streamed from the database and written as soon as each restaurant is
+ * complete, so memory use does not grow with the catalog.
+ */
+@Slf4j
+@Service
+public class RestaurantExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantMapper restaurantMapper;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public RestaurantExportService(RestaurantRepository restaurantRepository,
+                                   RestaurantMapper restaurantMapper,
+                                   ObjectMapper objectMapper,
+                                   @Value("${restaurant.export.timeout:30m}") Duration timeout) {
+        this.restaurantRepository = restaurantRepository;
+        this.restaurantMapper = restaurantMapper;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    /**
+     * How long an export may keep its async request open. Only the export gets this long;
+     * other async requests keep the container default.
+     */
+    public Duration timeout() {
+        return timeout;
+    }
+
+    /**
+     * Runs on the async request thread; the transaction keeps the cursor open until the last
+     * row has been written. Returns the number of restaurants exported.
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<RestaurantRow> rows = restaurantRepository.streamAllForExport();
+             SequenceWriter writer = objectMapper.writerFor(RestaurantResponse.class)
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .withRootValueSeparator("\n")
+                     .writeValues(out)) {
+            Iterator<RestaurantRow> iterator = rows.iterator();
+            RestaurantRow current = null;
+            List<CategoryResponse> categories = new ArrayList<>();
+            while (iterator.hasNext()) {
+                RestaurantRow row = iterator.next();
+                if (current != null && !current.id().equals(row.id())) {
+                    write(writer, out, current, categories, ++count);
+                    categories = new ArrayList<>();
+                }
+                current = row;
+                if (row.categoryId() != null) {
+                    CategoryResponse category = new CategoryResponse();
+                    category.setId(row.categoryId());
+                    category.setName(row.categoryName());
+                    categories.add(category);
+                }
+            }
+            if (current != null) {
+                write(writer, out, current, categories, ++count);
+            }
+        }
+        if (count > 0) {
+            out.write('\n');  // the writer only separates values, NDJSON terminates every line
+        }
+        out.flush();
+        log.info("Exported {} restaurants", count);
+        return count;
+    }
+
+    // The first line goes out at once so clients see progress immediately
+    private void write(SequenceWriter writer, OutputStream out, RestaurantRow row,
+                       List<CategoryResponse> categories, long count) throws IOException {
+        writer.write(restaurantMapper.toResponse(row, categories));
+        if (count == 1 || count % FLUSH_EVERY == 0) {
+            writer.flush();
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.triad.resturantfinder.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.triad.resturantfinder.model.DAO.Category;
+import com.triad.resturantfinder.model.DAO.PriceRange;
+import com.triad.resturantfinder.model.DAO.Restaurant;
+import com.triad.resturantfinder.model.DAO.Review;
+import com.triad.resturantfinder.model.DTO.ImportReport;
+import com.triad.resturantfinder.model.DTO.RestaurantImportRecord;
+import com.triad.resturantfinder.model.DTO.RestaurantRequest;
+import com.triad.resturantfinder.respository.RestaurantRepository;
+import com.triad.resturantfinder.respository.ReviewRepository;
+import com.triad.resturantfinder.search.RestaurantSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bulk import of restaurants (with their category links and reviews) from newline-delimited
+ * JSON. Each line is validated on its own and rejected lines are reported with their line
+ * number; valid rows are written in chunks, one transaction per chunk, so Hibernate can send
+ * the inserts as JDBC batches. A chunk the database rejects is retried row by row, so only
+ * the rows at fault are reported. Rating aggregates are computed in memory from each row's
+ * reviews and written with the restaurant, never updated per review.
+ */
+@Slf4j
+@Service
+public class RestaurantImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    // Length of the photo_url column
+    private static final int MAX_PHOTO_URL_LENGTH = 255;
+
+    private record PendingRow(long line, Restaurant restaurant, List<Review> reviews) {
+    }
+
+    private final RestaurantRepository restaurantRepository;
+    private final ReviewRepository reviewRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final RestaurantSearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public RestaurantImportService(RestaurantRepository restaurantRepository,
+                                   ReviewRepository reviewRepository,
+                                   CategoryDictionary categoryDictionary,
+                                   RestaurantSearchIndex searchIndex,
+                                   ObjectMapper objectMapper,
+                                   Validator validator,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${restaurant.import.chunk-size:500}") int chunkSize) {
+        this.restaurantRepository = restaurantRepository;
+        this.reviewRepository = reviewRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.searchIndex = searchIndex;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportReport importRestaurants(InputStream in) throws IOException {
+        long started = System.nanoTime();
+        ImportReport report = new ImportReport();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.setReceived(report.getReceived() + 1);
+            try {
+                RestaurantImportRecord record = objectMapper.readValue(line, RestaurantImportRecord.class);
+                chunk.add(toPendingRow(lineNumber, record));
+            } catch (JsonProcessingException e) {
+                reject(report, lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                reject(report, lineNumber, e.getMessage());
+            }
+            if (chunk.size() >= chunkSize) {
+                write(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, report);
+        }
+
+        report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        report.setRestaurantsPerSecond(report.getImported() * 1000.0 / Math.max(1, report.getElapsedMillis()));
+        log.info("Imported {} of {} restaurants ({} reviews) in {} ms", report.getImported(), report.getReceived(),
+                report.getReviewsImported(), report.getElapsedMillis());
+        return report;
+    }
+
+    // A failing chunk is rolled back and retried row by row, so one bad row doesn't hold up the rest
+    private void write(List<PendingRow> chunk, ImportReport report) {
+        try {
+            writeChunk(chunk);
+        } catch (DataAccessException | PersistenceException e) {
+            log.warn("Import chunk of {} rows rejected, retrying one by one: {}", chunk.size(), e.getMessage());
+            for (PendingRow row : chunk) {
+                // The rolled-back attempt left generated ids behind
+                row.restaurant().setId(null);
+                row.reviews().forEach(review -> review.setId(null));
+                try {
+                    writeChunk(List.of(row));
+                } catch (DataAccessException | PersistenceException single) {
+                    reject(report, row.line(), "Rejected by the database: "
+                            + NestedExceptionUtils.getMostSpecificCause(single).getMessage());
+                    continue;
+                }
+                imported(report, List.of(row));
+            }
+            return;
+        }
+        imported(report, chunk);
+    }
+
+    private void writeChunk(List<PendingRow> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Restaurant> restaurants = chunk.stream().map(PendingRow::restaurant).toList();
+            restaurantRepository.saveAll(restaurants);
+            reviewRepository.saveAll(chunk.stream().flatMap(row -> row.reviews().stream()).toList());
+            entityManager.flush();
+            // After the flush, so the snapshots carry the generated timestamps
+            restaurants.forEach(searchIndex::index);
+            entityManager.clear();
+        });
+    }
+
+    private static void imported(ImportReport report, List<PendingRow> rows) {
+        report.setImported(report.getImported() + rows.size());
+        report.setReviewsImported(report.getReviewsImported() + rows.stream().mapToLong(row -> row.reviews().size()).sum());
+    }
+
+    private static void reject(ImportReport report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ImportReport.RowError(line, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    /**
+     * Validates a record with the same rules as {@code RestaurantRequest} and
+     * {@code ReviewRequest}, plus the length of the photo URL column, throwing
+     * {@link IllegalArgumentException} on the first violation.
+     */
+    private PendingRow toPendingRow(long line, RestaurantImportRecord record) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName(require(record.getName(), "Restaurant name is required"));
+        check(restaurant.getName().length() >= 2 && restaurant.getName().length() <= 100,
+                "Name must be between 2 and 100 characters");
+        restaurant.setAddress(require(record.getAddress(), "Address is required"));
+        check(restaurant.getAddress().length() <= 200, "Address cannot exceed 200 characters");
+        restaurant.setHours(require(record.getHours(), "Operating hours are required"));
+        check(record.getDescription() == null || record.getDescription().length() <= 1000,
+                "Description cannot exceed 1000 characters");
+        restaurant.setDescription(record.getDescription());
+        // The request's own constraints, so both paths accept the same values
+        checkLikeRequest("email", record.getEmail());
+        restaurant.setEmail(record.getEmail());
+        checkLikeRequest("phone", record.getPhone());
+        restaurant.setPhone(record.getPhone());
+        check(record.getPhotoUrl() == null || record.getPhotoUrl().length() <= MAX_PHOTO_URL_LENGTH,
+                "Photo URL cannot exceed " + MAX_PHOTO_URL_LENGTH + " characters");
+        restaurant.setPhotoUrl(record.getPhotoUrl());
+        restaurant.setPriceRange(parsePriceRange(record.getPriceRange()));
+
+        check((record.getLatitude() == null) == (record.getLongitude() == null),
+                "Latitude and longitude must be given together");
+        check(record.getLatitude() == null
+                        || (Math.abs(record.getLatitude()) <= 90 && Math.abs(record.getLongitude()) <= 180),
+                "Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        restaurant.setLatitude(record.getLatitude());
+        restaurant.setLongitude(record.getLongitude());
+
+        check(record.getCategories() != null && !record.getCategories().isEmpty(),
+                "At least one category must be selected");
+        List<Category> categories = new ArrayList<>();
+        for (String name : record.getCategories()) {
+            Optional<Category> category = categoryDictionary.findByName(name == null ? "" : name);
+            check(category.isPresent(), "Unknown category: " + name);
+            if (!categories.contains(category.get())) {
+                categories.add(category.get());
+            }
+        }
+        restaurant.setCategories(categories);
+
+        List<Review> reviews = new ArrayList<>();
+        long ratingSum = 0;
+        if (record.getReviews() != null) {
+            for (RestaurantImportRecord.ReviewRecord reviewRecord : record.getReviews()) {
+                Integer rating = reviewRecord.getRating();
+                check(rating != null && rating >= 1 && rating <= 5, "Rating must be between 1 and 5");
+                String comment = require(reviewRecord.getComment(), "Comment is required");
+                check(comment.length() >= 10 && comment.length() <= 500,
+                        "Comment must be between 10 and 500 characters");
+                Review review = new Review();
+                review.setRestaurant(restaurant);
+                review.setRating(rating);
+                review.setComment(comment);
+                review.setCreatedAt(reviewRecord.getCreatedAt() == null ? LocalDateTime.now() : reviewRecord.getCreatedAt());
+                reviews.add(review);
+                ratingSum += rating;
+            }
+        }
+        restaurant.setReviewCount(reviews.size());
+        restaurant.setRatingSum(ratingSum);
+        restaurant.setAverageRating(reviews.isEmpty() ? null : ratingSum * 1.0 / reviews.size());
+        return new PendingRow(line, restaurant, reviews);
+    }
+
+    private static PriceRange parsePriceRange(String priceRange) {
+        require(priceRange, "Price range is required");
+        try {
+            return PriceRange.valueOf(priceRange.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Price range must be LOW, MEDIUM, or HIGH");
+        }
+    }
+
+    private void checkLikeRequest(String property, Object value) {
+        Set<ConstraintViolation<RestaurantRequest>> violations =
+                validator.validateValue(RestaurantRequest.class, property, value);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.iterator().next().getMessage());
+        }
+    }
+
+    private static String require(String value, String message) {
+        check(StringUtils.hasText(value), message);
+        return value.trim();
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
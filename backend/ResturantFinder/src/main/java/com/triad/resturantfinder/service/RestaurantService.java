@@ -1,15 +1,30 @@
 package com.triad.resturantfinder.service;
 
+import com.triad.resturantfinder.helper.ConditionalGet.Validators;
 import com.triad.resturantfinder.model.DTO.*;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface RestaurantService {
-    List<RestaurantResponse> searchRestaurants(String name, List<String> categories, String priceRange, String rating);
+    RestaurantPage searchRestaurants(RestaurantSearchRequest request);
+    List<AutocompleteSuggestion> autocomplete(String query, Integer limit);
+    // Top-rated restaurants of a category, optionally in one price range
+    List<LeaderboardEntryResponse> getLeaderboard(String category, String priceRange, Integer limit);
     RestaurantResponse getRestaurantById(Long id);
     RestaurantResponse createRestaurant(RestaurantRequest request);
     RestaurantResponse updateRestaurant(Long id, RestaurantRequest request);
-    List<ReviewResponse> getRestaurantReviews(Long restaurantId);
+    // viewer (may be null) sees their own queued reviews, see ReviewWriteBehind
+    ReviewPage getRestaurantReviews(Long restaurantId, String cursor, Integer size, String viewer);
     ReviewResponse addReview(Long restaurantId, ReviewRequest reviewRequest);
+    // Empty when write-behind is off or refuses; the caller then uses addReview
+    Optional<ReviewResponse> submitReview(Long restaurantId, ReviewRequest reviewRequest, String author);
     List<CategoryResponse> getAllCategories();
+
+    // Validators for conditional GETs, answered without touching the database; null when unknown
+    Validators getSearchValidators();
+    Validators getLeaderboardValidators();
+    Validators getRestaurantValidators(Long id);
+    Validators getReviewsValidators(Long restaurantId, String viewer);
+    Validators getCategoriesValidators();
 }
\ No newline at end of file
@@ -2,23 +2,48 @@ package com.triad.resturantfinder.service;
 
 import com.triad.resturantfinder.Mappers.RestaurantMapper;
 import com.triad.resturantfinder.Mappers.ReviewMapper;
+import com.triad.resturantfinder.helper.ConditionalGet.Validators;
+import com.triad.resturantfinder.helper.CursorCodec;
+import com.triad.resturantfinder.helper.InvalidRequestException;
 import com.triad.resturantfinder.helper.ResourceNotFoundException;
 import com.triad.resturantfinder.model.DAO.PriceRange;
 import com.triad.resturantfinder.model.DTO.*;
 import com.triad.resturantfinder.model.DAO.Restaurant;
 import com.triad.resturantfinder.model.DAO.Review;
-import com.triad.resturantfinder.respository.CategoryRepository;
+import com.triad.resturantfinder.model.DAO.ReviewView;
 import com.triad.resturantfinder.respository.RestaurantRepository;
 import com.triad.resturantfinder.respository.ReviewRepository;
+import com.triad.resturantfinder.search.GeoCursor;
+import com.triad.resturantfinder.search.GeoHit;
+import com.triad.resturantfinder.search.LeaderboardEntry;
+import com.triad.resturantfinder.search.RestaurantSearchIndex;
+import com.triad.resturantfinder.search.SearchCriteria;
+import com.triad.resturantfinder.search.SearchCursor;
+import com.triad.resturantfinder.search.SearchDocument;
+import com.triad.resturantfinder.search.SearchSort;
+import com.triad.resturantfinder.search.Suggestion;
+import com.triad.resturantfinder.search.TextNormalizer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Scanner;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,45 +54,207 @@ public class RestaurantServiceImpl implements RestaurantService {
     private final ReviewRepository reviewRepository;
     private final RestaurantMapper restaurantMapper;
     private final ReviewMapper reviewMapper;
-    private final CategoryRepository categoryRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final RestaurantSearchIndex searchIndex;
+    private final RestaurantDetailCache detailCache;
+    private final ReviewWriteBehind reviewWriteBehind;
+
+    @Value("${restaurant.search.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${restaurant.search.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${restaurant.autocomplete.default-limit:8}")
+    private int defaultSuggestionLimit;
+
+    @Value("${restaurant.autocomplete.max-limit:20}")
+    private int maxSuggestionLimit;
+
+    @Value("${restaurant.autocomplete.category-limit:3}")
+    private int categorySuggestionLimit;
+
+    @Value("${restaurant.leaderboards.default-limit:10}")
+    private int defaultLeaderboardLimit;
 
     @Override
     @Transactional(readOnly = true)
-    public List<RestaurantResponse> searchRestaurants(String name, List<String> categories, String priceRangeStr, String rating) {
+    public RestaurantPage searchRestaurants(RestaurantSearchRequest request) {
         // Normalize empty strings to null
-        String normalizedName = StringUtils.isEmpty(name) ? null : name.trim();
-        List<String> normalizedCategories = normalizeCategories(categories);
-        PriceRange normalizedPriceRange = normalizePriceRange(priceRangeStr);
-        String normalizedRating = StringUtils.isEmpty(rating) ? null : rating.trim();
-
-        List<Restaurant> searchResults = restaurantRepository.findBySearchCriteria(
-                normalizedName,
-                normalizedCategories,
-                normalizedPriceRange,
-                normalizedRating
+        SearchCriteria criteria = new SearchCriteria(
+                StringUtils.isEmpty(request.getName()) ? null : request.getName().trim(),
+                normalizeCategories(request.getCategories()),
+                normalizePriceRange(request.getPriceRange()),
+                normalizeRating(request.getRating())
         );
+        if (request.getLat() != null || request.getLng() != null) {
+            return searchNearby(request, criteria);
+        }
+        SearchSort sort = normalizeSort(request.getSort());
+        SearchCursor cursor = StringUtils.isEmpty(request.getCursor()) ? null : SearchCursor.decode(request.getCursor(), sort);
+        int pageSize = normalizePageSize(request.getSize());
 
-        // If no results found with search criteria and search was attempted
-        if (searchResults.isEmpty() && (normalizedName != null || !CollectionUtils.isEmpty(normalizedCategories) ||
-                normalizedPriceRange != null || normalizedRating != null)) {
-            // Return all restaurants
-            searchResults = restaurantRepository.findAll();
+        // One extra hit tells us whether another page follows
+        List<SearchDocument> hits = searchIndex.search(criteria, sort, cursor, pageSize + 1);
+
+        if (hits.isEmpty() && cursor == null && criteria.hasConstraints()) {
+            Relaxed<SearchDocument> relaxed = relax(criteria,
+                    relaxedCriteria -> searchIndex.search(relaxedCriteria, sort, null, pageSize));
+            return new RestaurantPage(loadResponses(relaxed.hits().stream().map(SearchDocument::id).toList()),
+                    null, relaxed.reported());
+        }
+
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            nextCursor = SearchCursor.after(sort, hits.get(pageSize - 1)).encode();
+        }
+        return new RestaurantPage(loadResponses(hits.stream().map(SearchDocument::id).toList()), nextCursor);
+    }
+
+    private RestaurantPage searchNearby(RestaurantSearchRequest request, SearchCriteria criteria) {
+        double latitude = requireCoordinate(request.getLat(), 90, "lat");
+        double longitude = requireCoordinate(request.getLng(), 180, "lng");
+        if (!StringUtils.isEmpty(request.getSort()) && !"DISTANCE".equalsIgnoreCase(request.getSort().trim())) {
+            throw new InvalidRequestException("Nearby searches are always sorted by DISTANCE");
+        }
+        Double radiusKm = request.getRadiusKm();
+        if (radiusKm != null && !(radiusKm > 0)) {
+            throw new InvalidRequestException("radiusKm must be positive");
         }
+        GeoCursor cursor = StringUtils.isEmpty(request.getCursor()) ? null : GeoCursor.decode(request.getCursor());
+        int pageSize = normalizePageSize(request.getSize());
 
-        return searchResults.stream()
+        List<GeoHit> hits = searchIndex.nearby(criteria, latitude, longitude, radiusKm, cursor, pageSize + 1);
+
+        // Same relaxation as the plain search, still nearest first; the radius goes last
+        List<String> relaxedConstraints = List.of();
+        if (hits.isEmpty() && cursor == null && (criteria.hasConstraints() || radiusKm != null)) {
+            Relaxed<GeoHit> relaxed = relax(criteria,
+                    relaxedCriteria -> searchIndex.nearby(relaxedCriteria, latitude, longitude, radiusKm, null, pageSize));
+            if (relaxed.hits().isEmpty() && radiusKm != null) {
+                List<String> constraints = new ArrayList<>(relaxed.constraints());
+                constraints.add("radiusKm");
+                relaxed = new Relaxed<>(searchIndex.nearby(SearchCriteria.NONE, latitude, longitude, null, null, pageSize),
+                        constraints);
+            }
+            hits = relaxed.hits();
+            relaxedConstraints = relaxed.reported();
+        }
+
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            nextCursor = GeoCursor.after(hits.get(pageSize - 1)).encode();
+        }
+        List<RestaurantResponse> responses = loadResponses(hits.stream().map(hit -> hit.document().id()).toList());
+        Map<Long, Double> distances = hits.stream()
+                .collect(Collectors.toMap(hit -> hit.document().id(), GeoHit::distanceKm));
+        responses.forEach(response -> response.setDistanceKm(distances.get(response.getId())));
+        return new RestaurantPage(responses, nextCursor, relaxedConstraints);
+    }
+
+    private record Relaxed<H>(List<H> hits, List<String> constraints) {
+
+        // Nothing was found even without constraints, so nothing was usefully relaxed
+        List<String> reported() {
+            return hits.isEmpty() ? List.of() : constraints;
+        }
+    }
+
+    /**
+     * Drops one constraint at a time until a search has hits: the rating, then the price range,
+     * then categories (the one most restaurants carry first), then the name. Each step is one
+     * index search for a single page, so a search without hits costs a few bitmap intersections
+     * instead of a scan. Relaxed results are never paginated: a cursor would continue the
+     * original, unmatched query.
+     */
+    private <H> Relaxed<H> relax(SearchCriteria criteria, Function<SearchCriteria, List<H>> search) {
+        List<String> constraints = new ArrayList<>();
+        SearchCriteria relaxed = criteria;
+        while (relaxed.hasConstraints()) {
+            if (relaxed.minRating() != null) {
+                relaxed = relaxed.withoutMinRating();
+                constraints.add("rating");
+            } else if (relaxed.priceRange() != null) {
+                relaxed = relaxed.withoutPriceRange();
+                constraints.add("priceRange");
+            } else if (relaxed.categories() != null) {
+                String category = searchIndex.leastSelectiveCategory(relaxed.categories());
+                relaxed = relaxed.withoutCategory(category);
+                constraints.add("category:" + category);
+            } else {
+                relaxed = relaxed.withoutName();
+                constraints.add("name");
+            }
+            List<H> hits = search.apply(relaxed);
+            if (!hits.isEmpty()) {
+                return new Relaxed<>(hits, constraints);
+            }
+        }
+        return new Relaxed<>(List.of(), constraints);
+    }
+
+    private double requireCoordinate(Double value, double bound, String name) {
+        if (value == null) {
+            throw new InvalidRequestException("lat and lng must be given together");
+        }
+        if (!(Math.abs(value) <= bound)) {
+            throw new InvalidRequestException(name + " must be between -" + (int) bound + " and " + (int) bound);
+        }
+        return value;
+    }
+
+    // Only the hits are fetched from the database, with their categories in the same query,
+    // and the index order is preserved.
+    private List<RestaurantResponse> loadResponses(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Restaurant> restaurantsById = restaurantRepository.findWithCategoriesByIdIn(ids).stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+        return ids.stream()
+                .map(restaurantsById::get)
+                .filter(Objects::nonNull)
                 .map(restaurantMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
+    private SearchSort normalizeSort(String sort) {
+        if (StringUtils.isEmpty(sort)) {
+            return SearchSort.ID;
+        }
+        if ("DISTANCE".equalsIgnoreCase(sort.trim())) {
+            throw new InvalidRequestException("Sorting by DISTANCE needs lat and lng");
+        }
+        try {
+            return SearchSort.valueOf(sort.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Sort must be one of ID, RATING or NAME");
+        }
+    }
+
+    private int normalizePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
     private List<String> normalizeCategories(List<String> categories) {
         if (CollectionUtils.isEmpty(categories)) {
             return null;
         }
-        return categories.stream()
+        List<String> normalized = categories.stream()
                 .filter(category -> !StringUtils.isEmpty(category))
-                .map(String::trim)
-                .map(String::toLowerCase)
+                .map(TextNormalizer::fold)
+                .distinct()
                 .collect(Collectors.toList());
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private Double normalizeRating(String rating) {
+        return StringUtils.isEmpty(rating) ? null : Double.valueOf(rating.trim());
     }
 
     private PriceRange normalizePriceRange(String priceRangeStr) {
@@ -80,18 +267,84 @@ public class RestaurantServiceImpl implements RestaurantService {
         }
         return null;
     }
+    // Answered entirely from the search index, so keystrokes never reach the database
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<AutocompleteSuggestion> autocomplete(String query, Integer limit) {
+        if (StringUtils.isEmpty(query)) {
+            return List.of();
+        }
+        if (query.length() > 100) {
+            throw new InvalidRequestException("Query cannot exceed 100 characters");
+        }
+        int suggestionLimit = limit == null || limit < 1 ? defaultSuggestionLimit : Math.min(limit, maxSuggestionLimit);
+        return searchIndex.autocomplete(query, suggestionLimit, categorySuggestionLimit).stream()
+                .map(this::toSuggestionResponse)
+                .collect(Collectors.toList());
+    }
+
+    private AutocompleteSuggestion toSuggestionResponse(Suggestion suggestion) {
+        AutocompleteSuggestion response = new AutocompleteSuggestion();
+        response.setType(suggestion.kind().name());
+        response.setId(suggestion.id());
+        response.setName(suggestion.name());
+        response.setRating(suggestion.rating() == null ? null : suggestion.rating().toString());
+        response.setCount(suggestion.count());
+        return response;
+    }
+
+    // Served from the index's precomputed boards, so it never reaches the database either
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<LeaderboardEntryResponse> getLeaderboard(String category, String priceRange, Integer limit) {
+        if (StringUtils.isEmpty(category) || StringUtils.isEmpty(category.trim())) {
+            throw new InvalidRequestException("category is required");
+        }
+        PriceRange range = null;
+        if (!StringUtils.isEmpty(priceRange)) {
+            try {
+                range = PriceRange.valueOf(priceRange.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("priceRange must be one of LOW, MEDIUM or HIGH");
+            }
+        }
+        List<LeaderboardEntry> entries = searchIndex.leaderboard(TextNormalizer.fold(category.trim()), range,
+                limit == null || limit < 1 ? defaultLeaderboardLimit : limit);
+        List<LeaderboardEntryResponse> responses = new ArrayList<>(entries.size());
+        for (LeaderboardEntry entry : entries) {
+            responses.add(toLeaderboardResponse(responses.size() + 1, entry));
+        }
+        return responses;
+    }
+
+    private LeaderboardEntryResponse toLeaderboardResponse(int rank, LeaderboardEntry entry) {
+        SearchDocument document = entry.document();
+        LeaderboardEntryResponse response = new LeaderboardEntryResponse();
+        response.setRank(rank);
+        response.setId(document.id());
+        response.setName(document.name());
+        response.setPriceRange(document.priceRange().name());
+        response.setRating(document.rating());
+        response.setReviewCount(document.reviewCount());
+        response.setScore(entry.score());
+        return response;
+    }
+
+    // Cache hits must not open a transaction (and borrow a connection); a miss is one query
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public RestaurantResponse getRestaurantById(Long id) {
-        Restaurant restaurant = restaurantRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
-        return restaurantMapper.toResponse(restaurant);
+        return detailCache.get(id, key -> restaurantRepository.findWithCategoriesById(key)
+                .map(restaurantMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + key)));
     }
 
     @Override
     public RestaurantResponse createRestaurant(RestaurantRequest request) {
         Restaurant restaurant = restaurantMapper.toEntity(request);
-        restaurant = restaurantRepository.save(restaurant);
+        // Flushed so the indexed snapshot carries the generated version and timestamp
+        restaurant = restaurantRepository.saveAndFlush(restaurant);
+        searchIndex.index(restaurant);
         return restaurantMapper.toResponse(restaurant);
     }
 
@@ -101,49 +354,138 @@ public class RestaurantServiceImpl implements RestaurantService {
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
 
         restaurantMapper.updateRestaurantFromRequest(request, existingRestaurant);
-        existingRestaurant = restaurantRepository.save(existingRestaurant);
+        existingRestaurant = restaurantRepository.saveAndFlush(existingRestaurant);
+        // Evicted before the index publishes the new ETag, so the new ETag never serves the old body
+        detailCache.evictAfterCommit(id);
+        searchIndex.index(existingRestaurant);
         return restaurantMapper.toResponse(existingRestaurant);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ReviewResponse> getRestaurantReviews(Long restaurantId) {
-        return reviewRepository.findByRestaurantId(restaurantId)
-                .stream()
-                .map(reviewMapper::toResponse)
-                .collect(Collectors.toList());
+    public ReviewPage getRestaurantReviews(Long restaurantId, String cursor, Integer size, String viewer) {
+        int pageSize = normalizePageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<ReviewView> reviews;
+        if (StringUtils.isEmpty(cursor)) {
+            reviews = reviewRepository.findLatestByRestaurantId(restaurantId, limit);
+        } else {
+            String[] position = CursorCodec.decode(cursor, 2);
+            try {
+                reviews = reviewRepository.findLatestByRestaurantIdBefore(restaurantId,
+                        LocalDateTime.parse(position[0]), Long.valueOf(position[1]), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new InvalidRequestException("Invalid cursor", e);
+            }
+        }
+
+        String nextCursor = null;
+        if (reviews.size() > pageSize) {
+            reviews = reviews.subList(0, pageSize);
+            ReviewView last = reviews.get(pageSize - 1);
+            nextCursor = CursorCodec.encode(last.createdAt().toString(), last.id().toString());
+        }
+        // Read-your-writes: the viewer's queued reviews lead their first page until written
+        if (StringUtils.isEmpty(cursor)) {
+            List<ReviewView> pending = reviewWriteBehind.pending(viewer, restaurantId);
+            if (!pending.isEmpty()) {
+                reviews = Stream.concat(pending.stream(), reviews.stream()).toList();
+            }
+        }
+        return new ReviewPage(reviews.stream().map(reviewMapper::toResponse).collect(Collectors.toList()), nextCursor);
     }
 
     @Override
     public ReviewResponse addReview(Long restaurantId, ReviewRequest reviewRequest) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + restaurantId));
-
         Review review = reviewMapper.toEntity(reviewRequest);
-        review.setRestaurant(restaurant);
+
+        // Bumping the aggregate first proves the restaurant exists and row-locks it for the insert
+        if (restaurantRepository.addRatings(restaurantId, 1, review.getRating(), Instant.now()) == 0) {
+            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
+        }
+        review.setRestaurant(restaurantRepository.getReferenceById(restaurantId));
         review = reviewRepository.save(review);
 
-        updateRestaurantRating(restaurant);
+        detailCache.evictAfterCommit(restaurantId);
+        restaurantRepository.findRatingAggregate(restaurantId).ifPresent(searchIndex::updateRating);
 
         return reviewMapper.toResponse(review);
     }
 
-    private void updateRestaurantRating(Restaurant restaurant) {
-        Double avgRating = reviewRepository.calculateAverageRating(restaurant.getId());
-        restaurant.setRating(avgRating != null ? avgRating.toString() : "0.0");
-        restaurantRepository.save(restaurant);
+    // Answered from the index without a connection; the write-behind worker does the rest
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<ReviewResponse> submitReview(Long restaurantId, ReviewRequest reviewRequest, String author) {
+        // Checked here as well as by @Valid: a queued review is summed into the aggregate later,
+        // where a missing rating would fail the whole batch
+        Integer rating = reviewRequest.getRating();
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new InvalidRequestException("Rating must be between 1 and 5");
+        }
+        if (!reviewWriteBehind.isEnabled()) {
+            return Optional.empty();
+        }
+        if (searchIndex.document(restaurantId) == null) {
+            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
+        }
+        ReviewWriteBehind.PendingReview review = new ReviewWriteBehind.PendingReview(author, restaurantId,
+                rating, reviewRequest.getComment(), LocalDateTime.now());
+        if (!reviewWriteBehind.submit(review)) {
+            return Optional.empty();
+        }
+        return Optional.of(reviewMapper.toResponse(review.toView()));
     }
+
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<CategoryResponse> getAllCategories() {
+        return categoryDictionary.all();
+    }
 
-        return categoryRepository.findAll().stream()
-                .map(category -> {
-                    CategoryResponse response = new CategoryResponse();
-                    response.setId(category.getId());
-                    response.setName(category.getName());
-                    return response;
-                })
-                .collect(Collectors.toList());
+    // Search pages also embed category names, so both versions go into the ETag
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Validators getSearchValidators() {
+        return new Validators("s" + searchIndex.catalogVersion() + "." + categoryDictionary.version(), null);
+    }
+
+    // Boards change only with indexed restaurants and ratings
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Validators getLeaderboardValidators() {
+        return new Validators("l" + searchIndex.catalogVersion(), null);
+    }
+
+    // The version covers edits of the restaurant, the review count the aggregates in its body
+    // and the dictionary version its category names
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Validators getRestaurantValidators(Long id) {
+        SearchDocument document = searchIndex.document(id);
+        if (document == null) {
+            return null;
+        }
+        return new Validators("r" + id + "." + document.version() + "." + document.reviewCount()
+                + "." + categoryDictionary.version(), document.updatedAt());
+    }
+
+    // Reviews are only ever added, so the count identifies a restaurant's review list; the
+    // viewer's own queued reviews make their copy a different representation
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Validators getReviewsValidators(Long restaurantId, String viewer) {
+        SearchDocument document = searchIndex.document(restaurantId);
+        if (document == null) {
+            return null;
+        }
+        int pending = reviewWriteBehind.pending(viewer, restaurantId).size();
+        return new Validators("v" + restaurantId + "." + document.reviewCount() + (pending == 0 ? "" : ".p" + pending),
+                document.updatedAt());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Validators getCategoriesValidators() {
+        return new Validators("c" + categoryDictionary.version(), null);
     }
 }
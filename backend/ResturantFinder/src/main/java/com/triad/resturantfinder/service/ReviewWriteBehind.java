@@ -0,0 +1,431 @@
+package com.triad.resturantfinder.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.triad.resturantfinder.model.DAO.Review;
+import com.triad.resturantfinder.model.DAO.ReviewView;
+import com.triad.resturantfinder.respository.RestaurantRepository;
+import com.triad.resturantfinder.respository.ReviewRepository;
+import com.triad.resturantfinder.search.RestaurantSearchIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind for new reviews ({@code restaurant.reviews.write-behind.enabled}).
+ * Validated reviews go into a bounded in-process queue and are acknowledged at once; a single
+ * worker drains whatever has accumulated, inserts it with JDBC batching and updates each
+ * restaurant's rating aggregate once per batch, so a burst of reviews on one restaurant takes
+ * its row lock once instead of once per review. When the queue is full or the worker is not
+ * running, {@link #submit} refuses and the caller writes synchronously.
+ * <p>
+ * The queue lives in memory. On shutdown the worker drains it after the web server has
+ * stopped; reviews that still cannot be written are appended to a spill file and replayed on
+ * the next start. A crash loses what was queued, which is why the mode is off by default.
+ * <p>
+ * Until its review is written, the author sees it at the top of the restaurant's review list
+ * (read-your-writes); other readers see it once the batch commits.
+ */
+@Slf4j
+@Component
+public class ReviewWriteBehind implements SmartLifecycle, MeterBinder {
+
+    /**
+     * A review accepted but not written yet. Also the spill file's line format.
+     */
+    record PendingReview(String author, Long restaurantId, Integer rating, String comment, LocalDateTime createdAt) {
+
+        ReviewView toView() {
+            return new ReviewView(null, restaurantId, rating, comment, createdAt);
+        }
+
+        // The spill file is read back without bean validation
+        boolean isWritable() {
+            return restaurantId != null && rating != null && rating >= 1 && rating <= 5 && createdAt != null;
+        }
+    }
+
+    private final RestaurantRepository restaurantRepository;
+    private final ReviewRepository reviewRepository;
+    private final RestaurantSearchIndex searchIndex;
+    private final RestaurantDetailCache detailCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final boolean readYourWrites;
+    private final int batchSize;
+    private final Duration drainTimeout;
+    private final Path spillFile;
+    private final BlockingQueue<PendingReview> queue;
+
+    // Accepted reviews by author, removed once written; only kept for read-your-writes
+    private final Map<String, List<PendingReview>> pendingByAuthor = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ReviewWriteBehind(RestaurantRepository restaurantRepository,
+                             ReviewRepository reviewRepository,
+                             RestaurantSearchIndex searchIndex,
+                             RestaurantDetailCache detailCache,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${restaurant.reviews.write-behind.enabled:false}") boolean enabled,
+                             @Value("${restaurant.reviews.write-behind.read-your-writes:true}") boolean readYourWrites,
+                             @Value("${restaurant.reviews.write-behind.queue-capacity:10000}") int queueCapacity,
+                             @Value("${restaurant.reviews.write-behind.batch-size:500}") int batchSize,
+                             @Value("${restaurant.reviews.write-behind.drain-timeout:30s}") Duration drainTimeout,
+                             @Value("${restaurant.reviews.write-behind.spill-file:review-spill.ndjson}") Path spillFile) {
+        this.restaurantRepository = restaurantRepository;
+        this.reviewRepository = reviewRepository;
+        this.searchIndex = searchIndex;
+        this.detailCache = detailCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.readYourWrites = readYourWrites;
+        this.batchSize = batchSize;
+        this.drainTimeout = drainTimeout;
+        this.spillFile = spillFile;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Queues a review the caller has validated. Returns {@code false} when the mode is off,
+     * the worker is not running or the queue is full; the caller then writes it itself.
+     */
+    public boolean submit(PendingReview review) {
+        if (!running) {
+            return false;
+        }
+        // Registered before it is queued: once queued, the worker may write and forget it at once
+        if (readYourWrites) {
+            pendingByAuthor.computeIfAbsent(review.author(), key -> new CopyOnWriteArrayList<>()).add(review);
+        }
+        if (!queue.offer(review)) {
+            forget(review);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * The author's reviews of a restaurant that are accepted but not written yet, newest first.
+     */
+    public List<ReviewView> pending(String author, Long restaurantId) {
+        if (author == null) {
+            return List.of();
+        }
+        List<PendingReview> pending = pendingByAuthor.get(author);
+        if (pending == null || pending.isEmpty()) {
+            return List.of();
+        }
+        return pending.stream()
+                .filter(review -> review.restaurantId().equals(restaurantId))
+                .sorted(Comparator.comparing(PendingReview::createdAt).reversed())
+                .map(PendingReview::toView)
+                .toList();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        replaySpillFile();
+        running = true;
+        worker = Thread.ofPlatform().name("review-writer").start(this::drainLoop);
+        log.info("Review write-behind started (queue capacity {}, batch size {})",
+                queue.remainingCapacity() + queue.size(), batchSize);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(drainTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            worker.interrupt();
+        }
+        List<PendingReview> left = new ArrayList<>();
+        queue.drainTo(left);
+        if (!left.isEmpty()) {
+            spill(left);
+        }
+        log.info("Review write-behind stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Below the web server's start/stop phase (DEFAULT_PHASE - 2048): starts before it accepts
+    // requests and stops after it, so nothing is queued any more; the DataSource closes later
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reviews.write_behind.queue", queue, BlockingQueue::size)
+                .description("Reviews accepted but not yet written")
+                .register(registry);
+    }
+
+    // Whatever accumulated while the previous batch was written forms the next batch
+    private void drainLoop() {
+        List<PendingReview> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingReview first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                // Only while waiting for work; stop() spills what is still queued
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // A failing batch is retried review by review, so one bad row doesn't hold up the rest
+    private void write(List<PendingReview> batch) {
+        try {
+            writeBatch(batch);
+        } catch (RuntimeException e) {
+            log.warn("Review batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+            List<PendingReview> failed = new ArrayList<>();
+            for (PendingReview review : batch) {
+                try {
+                    writeBatch(List.of(review));
+                } catch (RuntimeException single) {
+                    failed.add(review);
+                }
+            }
+            if (!failed.isEmpty()) {
+                spill(failed);
+            }
+        }
+    }
+
+    /**
+     * One transaction per batch: aggregates first, in restaurant id order so concurrent
+     * writers lock rows in the same order, then one batched insert of the reviews.
+     */
+    private void writeBatch(List<PendingReview> batch) {
+        Map<Long, List<PendingReview>> byRestaurant = new TreeMap<>();
+        batch.forEach(review -> byRestaurant.computeIfAbsent(review.restaurantId(), key -> new ArrayList<>()).add(review));
+        transactionTemplate.executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            List<Review> reviews = new ArrayList<>(batch.size());
+            List<Long> updated = new ArrayList<>(byRestaurant.size());
+            byRestaurant.forEach((restaurantId, pending) -> {
+                long ratingSum = pending.stream().mapToLong(PendingReview::rating).sum();
+                if (restaurantRepository.addRatings(restaurantId, pending.size(), ratingSum, now) == 0) {
+                    log.warn("Dropped {} queued reviews of deleted restaurant {}", pending.size(), restaurantId);
+                    return;
+                }
+                for (PendingReview review : pending) {
+                    reviews.add(toEntity(review));
+                }
+                updated.add(restaurantId);
+            });
+            reviewRepository.saveAll(reviews);
+            for (Long restaurantId : updated) {
+                detailCache.evictAfterCommit(restaurantId);
+                restaurantRepository.findRatingAggregate(restaurantId).ifPresent(searchIndex::updateRating);
+            }
+        });
+        batch.forEach(this::forget);
+    }
+
+    private Review toEntity(PendingReview pending) {
+        Review review = new Review();
+        review.setRestaurant(restaurantRepository.getReferenceById(pending.restaurantId()));
+        review.setRating(pending.rating());
+        review.setComment(pending.comment());
+        review.setCreatedAt(pending.createdAt());
+        return review;
+    }
+
+    private void forget(PendingReview review) {
+        if (review.author() == null) {
+            return;
+        }
+        pendingByAuthor.computeIfPresent(review.author(), (author, pending) -> {
+            pending.remove(review);
+            return pending.isEmpty() ? null : pending;
+        });
+    }
+
+    private void spill(List<PendingReview> reviews) {
+        try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (PendingReview review : reviews) {
+                out.write(objectMapper.writeValueAsString(review));
+                out.newLine();
+            }
+            log.warn("Spilled {} unwritten reviews to {}", reviews.size(), spillFile.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Lost {} unwritten reviews: cannot write {}", reviews.size(), spillFile.toAbsolutePath(), e);
+        }
+        reviews.forEach(this::forget);
+    }
+
+    /**
+     * Runs before the worker starts. Lines that cannot be parsed or are rejected by the database
+     * are moved to {@code <spill-file>.quarantine} for an operator to look at, so one bad line
+     * doesn't block the replay for good. When the database is unreachable, the unwritten rest is
+     * kept for the next start.
+     */
+    private void replaySpillFile() {
+        if (!Files.exists(spillFile)) {
+            return;
+        }
+        List<PendingReview> reviews = new ArrayList<>();
+        List<String> quarantined = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    PendingReview review = objectMapper.readValue(line, PendingReview.class);
+                    if (review.isWritable()) {
+                        reviews.add(review);
+                    } else {
+                        quarantined.add(line);
+                    }
+                } catch (JsonProcessingException e) {
+                    quarantined.add(line);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Could not read {}; it is kept for the next start", spillFile.toAbsolutePath(), e);
+            return;
+        }
+        int written = 0;
+        List<PendingReview> kept = List.of();
+        try {
+            while (written < reviews.size()) {
+                int to = Math.min(reviews.size(), written + batchSize);
+                replayBatch(reviews.subList(written, to), quarantined);
+                written = to;
+            }
+        } catch (RuntimeException e) {
+            log.error("Replayed {} of {} spilled reviews from {}; the rest is kept for the next start",
+                    written, reviews.size(), spillFile.toAbsolutePath(), e);
+            kept = reviews.subList(written, reviews.size());
+        }
+        quarantine(quarantined);
+        try {
+            Files.delete(spillFile);
+        } catch (IOException e) {
+            log.error("Could not truncate {}; replayed reviews may be written twice", spillFile.toAbsolutePath(), e);
+            return;
+        }
+        if (!kept.isEmpty()) {
+            spill(kept);
+        } else {
+            log.info("Replayed spilled reviews from {} ({} quarantined)", spillFile.toAbsolutePath(), quarantined.size());
+        }
+    }
+
+    // Like write(), but a review the database rejects goes to quarantine instead of back to the
+    // spill file; an outage is rethrown so the batch is kept
+    private void replayBatch(List<PendingReview> batch, List<String> quarantined) {
+        try {
+            writeBatch(batch);
+        } catch (RuntimeException e) {
+            if (isOutage(e)) {
+                throw e;
+            }
+            for (PendingReview review : batch) {
+                try {
+                    writeBatch(List.of(review));
+                } catch (RuntimeException single) {
+                    if (isOutage(single)) {
+                        throw single;
+                    }
+                    try {
+                        quarantined.add(objectMapper.writeValueAsString(review));
+                    } catch (JsonProcessingException unreachable) {
+                        throw new IllegalStateException(unreachable);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isOutage(RuntimeException e) {
+        return e instanceof CannotCreateTransactionException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException;
+    }
+
+    private void quarantine(List<String> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        Path quarantineFile = spillFile.resolveSibling(spillFile.getFileName() + ".quarantine");
+        try {
+            Files.write(quarantineFile, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.error("Moved {} spilled reviews that cannot be written to {}", lines.size(), quarantineFile.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Lost {} spilled reviews that cannot be written: cannot write {}",
+                    lines.size(), quarantineFile.toAbsolutePath(), e);
+        }
+    }
+}
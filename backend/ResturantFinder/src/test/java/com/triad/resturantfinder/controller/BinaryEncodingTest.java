@@ -0,0 +1,129 @@
+package com.triad.resturantfinder.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.triad.resturantfinder.model.DTO.RestaurantRequest;
+import com.triad.resturantfinder.service.CategoryDictionary;
+import com.triad.resturantfinder.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Accept: application/cbor and application/x-jackson-smile, next to the default JSON
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BinaryEncodingTest {
+
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    private String name;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        name = "Encoded " + UUID.randomUUID().toString().substring(0, 8);
+        RestaurantRequest request = new RestaurantRequest();
+        request.setName(name);
+        request.setAddress("5 Main Street");
+        request.setHours("9-17");
+        request.setPriceRange("HIGH");
+        request.setCategoryIds(List.of(categoryDictionary.findByName("Seafood").orElseThrow().getId()));
+        restaurantId = restaurantService.createRestaurant(request).getId();
+    }
+
+    @Test
+    void encodesTheDetailAsRequested() throws Exception {
+        JsonNode expected = json.readTree(fetch(detail(), MediaType.APPLICATION_JSON_VALUE).getContentAsByteArray());
+
+        assertThat(decode(fetch(detail(), CBOR), new ObjectMapper(new CBORFactory()))).isEqualTo(expected);
+        assertThat(decode(fetch(detail(), SMILE), new ObjectMapper(new SmileFactory()))).isEqualTo(expected);
+        assertThat(expected.get("name").asText()).isEqualTo(name);
+        assertThat(expected.get("priceRange").asText()).isEqualTo("HIGH");
+    }
+
+    @Test
+    void encodesSearchPagesAsRequested() throws Exception {
+        MockHttpServletRequestBuilder search = get("/api/v1/restaurants").param("name", name)
+                .with(user("reader").roles("USER"));
+
+        JsonNode page = decode(fetch(search, CBOR), new ObjectMapper(new CBORFactory()));
+
+        assertThat(page.isArray()).isTrue();
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).get("id").asLong()).isEqualTo(restaurantId);
+    }
+
+    @Test
+    void eachEncodingHasItsOwnETag() throws Exception {
+        String jsonETag = fetch(detail(), MediaType.APPLICATION_JSON_VALUE).getHeader(HttpHeaders.ETAG);
+        String cborETag = fetch(detail(), CBOR).getHeader(HttpHeaders.ETAG);
+        String smileETag = fetch(detail(), SMILE).getHeader(HttpHeaders.ETAG);
+
+        assertThat(List.of(jsonETag, cborETag, smileETag)).doesNotContainNull().doesNotHaveDuplicates();
+
+        // A cached JSON copy does not satisfy a CBOR request, while the CBOR one does
+        mockMvc.perform(detail().accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(detail().accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void fallsBackToJsonForAnyType() throws Exception {
+        MockHttpServletResponse response = fetch(detail(), MediaType.ALL_VALUE);
+
+        assertThat(response.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private MockHttpServletResponse fetch(MockHttpServletRequestBuilder request, String accept) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(request.accept(accept))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        if (!MediaType.ALL_VALUE.equals(accept)) {
+            assertThat(MediaType.parseMediaType(response.getContentType()).isCompatibleWith(MediaType.parseMediaType(accept)))
+                    .as("content type %s for Accept %s", response.getContentType(), accept)
+                    .isTrue();
+        }
+        return response;
+    }
+
+    private MockHttpServletRequestBuilder detail() {
+        return get("/api/v1/restaurants/{id}", restaurantId).with(user("reader").roles("USER"));
+    }
+
+    private static JsonNode decode(MockHttpServletResponse response, ObjectMapper mapper) throws Exception {
+        return mapper.readTree(response.getContentAsByteArray());
+    }
+}
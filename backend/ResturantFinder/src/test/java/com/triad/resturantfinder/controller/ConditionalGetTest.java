@@ -0,0 +1,133 @@
+package com.triad.resturantfinder.controller;
+
+import com.triad.resturantfinder.model.DTO.RestaurantRequest;
+import com.triad.resturantfinder.model.DTO.ReviewRequest;
+import com.triad.resturantfinder.service.CategoryDictionary;
+import com.triad.resturantfinder.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ETags of the detail and search endpoints, and the 304s answered from them
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        restaurantId = restaurantService.createRestaurant(restaurant("Conditional Bistro")).getId();
+    }
+
+    @Test
+    void answersNotModifiedForTheCurrentETag() throws Exception {
+        MockHttpServletResponse first = fetch(detail());
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        assertThat(first.getHeaders(HttpHeaders.VARY)).anySatisfy(vary -> assertThat(vary).contains(HttpHeaders.ACCEPT));
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).contains("no-cache").doesNotContain("no-store");
+
+        mockMvc.perform(detail().header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void editsAndReviewsChangeTheDetailETag() throws Exception {
+        String original = fetch(detail()).getHeader(HttpHeaders.ETAG);
+
+        RestaurantRequest edit = restaurant("Conditional Bistro Renamed");
+        restaurantService.updateRestaurant(restaurantId, edit);
+        MockHttpServletResponse edited = mockMvc.perform(detail().header(HttpHeaders.IF_NONE_MATCH, original))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Conditional Bistro Renamed"))
+                .andReturn().getResponse();
+        String afterEdit = edited.getHeader(HttpHeaders.ETAG);
+        assertThat(afterEdit).isNotEqualTo(original);
+
+        ReviewRequest review = new ReviewRequest();
+        review.setRating(4);
+        review.setComment("Good food, friendly staff");
+        restaurantService.addReview(restaurantId, review);
+        String afterReview = mockMvc.perform(detail().header(HttpHeaders.IF_NONE_MATCH, afterEdit))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(afterReview).isNotEqualTo(afterEdit).isNotEqualTo(original);
+    }
+
+    @Test
+    void aNewCatalogGenerationChangesTheSearchETag() throws Exception {
+        MockHttpServletResponse first = fetch(search());
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(first.getHeaders(HttpHeaders.VARY)).anySatisfy(vary -> assertThat(vary).contains(HttpHeaders.ACCEPT));
+        mockMvc.perform(search().header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+
+        restaurantService.createRestaurant(restaurant("Conditional Diner " + UUID.randomUUID()));
+
+        String next = mockMvc.perform(search().header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(next).isNotBlank().isNotEqualTo(etag);
+    }
+
+    @Test
+    void unknownRestaurantsAreNeverNotModified() throws Exception {
+        mockMvc.perform(get("/api/v1/restaurants/{id}", Long.MAX_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, "*")
+                        .with(user("reader").roles("USER")))
+                .andExpect(status().isNotFound());
+    }
+
+    private MockHttpServletResponse fetch(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse();
+    }
+
+    private MockHttpServletRequestBuilder detail() {
+        return get("/api/v1/restaurants/{id}", restaurantId).with(user("reader").roles("USER"));
+    }
+
+    private MockHttpServletRequestBuilder search() {
+        return get("/api/v1/restaurants").param("name", "conditional").with(user("reader").roles("USER"));
+    }
+
+    private RestaurantRequest restaurant(String name) {
+        RestaurantRequest request = new RestaurantRequest();
+        request.setName(name);
+        request.setAddress("4 Main Street");
+        request.setHours("9-17");
+        request.setPriceRange("LOW");
+        request.setCategoryIds(List.of(categoryDictionary.findByName("Greek").orElseThrow().getId()));
+        return request;
+    }
+}
@@ -0,0 +1,120 @@
+package com.triad.resturantfinder.controller;
+
+import com.triad.resturantfinder.helper.PasswordHashingBulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sign-ins refused before a password is hashed, with Retry-After
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginProtectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PasswordHashingBulkhead bulkhead;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void throttlesAUsernameAfterRepeatedFailures() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            login("10.1.0." + i, "throttled-user").andExpect(status().isUnauthorized());
+        }
+
+        login("10.1.0.99", "throttled-user")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    void answersServiceUnavailableWhileTheHashingBulkheadIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = bulkhead.guard(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        });
+        double rejectedBefore = rejected();
+        List<Thread> callers = new ArrayList<>();
+        try {
+            // Fills every hashing thread and the queue; the callers beyond that are refused
+            while (rejected() == rejectedBefore) {
+                callers.add(Thread.ofVirtual().start(() -> {
+                    try {
+                        blocking.matches("password", "hash");
+                    } catch (RuntimeException refused) {
+                        // Expected once the bulkhead is full
+                    }
+                }));
+                if (callers.size() % 16 == 0) {
+                    Thread.sleep(10);
+                }
+            }
+
+            login("10.2.0.1", "bulkhead-user")
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                    .andExpect(jsonPath("$.status").value(503));
+        } finally {
+            release.countDown();
+            for (Thread caller : callers) {
+                caller.join();
+            }
+        }
+
+        // The refused sign-in was not counted against the username
+        for (int i = 0; i < 5; i++) {
+            login("10.2.0.2", "bulkhead-user").andExpect(status().isUnauthorized());
+        }
+        assertThat(rejected()).isGreaterThan(rejectedBefore);
+    }
+
+    private ResultActions login(String ip, String username) throws Exception {
+        return mockMvc.perform(post("/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(ip);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"Wrong-passw0rd!\"}"));
+    }
+
+    private double rejected() {
+        return meterRegistry.get("auth.password_hash.rejected").counter().count();
+    }
+}
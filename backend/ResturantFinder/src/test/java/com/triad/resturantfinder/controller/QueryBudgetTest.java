@@ -0,0 +1,87 @@
+package com.triad.resturantfinder.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.triad.resturantfinder.helper.QueryBudgetEnforcer;
+import com.triad.resturantfinder.service.CategoryDictionary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+// The test profile runs with diagnostics.query-budget.mode=FAIL, so a handler over its
+// @QueryBudget answers 500 here. Every budgeted handler is called once on its success path.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Test
+    void authenticationStaysWithinBudget() throws Exception {
+        String username = "budget" + UUID.randomUUID().toString().substring(0, 8);
+        String credentials = "{\"username\":\"" + username + "\",\"password\":\"Budget@test1\"}";
+
+        withinBudget(post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"Budget@test1\",\"email\":\""
+                        + username + "@example.com\"}"));
+        MvcResult login = withinBudget(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(credentials));
+        String bearer = "Bearer " + objectMapper.readTree(login.getResponse().getContentAsString()).path("token").asText();
+
+        withinBudget(get("/auth/validate").header(HttpHeaders.AUTHORIZATION, bearer));
+        withinBudget(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, bearer));
+    }
+
+    @Test
+    void restaurantEndpointsStayWithinBudget() throws Exception {
+        long pizza = categoryDictionary.findByName("Pizza").orElseThrow().getId();
+        String restaurant = "{\"name\":\"Budget Trattoria\",\"address\":\"5 Main Street\",\"hours\":\"9-17\","
+                + "\"priceRange\":\"MEDIUM\",\"latitude\":40.7,\"longitude\":-74.0,\"categoryIds\":[" + pizza + "]}";
+
+        MvcResult created = withinBudget(post("/api/v1/restaurants/register").with(user("owner").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON).content(restaurant));
+        long id = objectMapper.readTree(created.getResponse().getContentAsString()).path("id").asLong();
+
+        withinBudget(put("/api/v1/restaurants/update/{id}", id).with(user("owner").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON).content(restaurant.replace("9-17", "10-22")));
+        withinBudget(post("/api/v1/restaurants/{id}/reviews", id).with(user("diner").roles("USER"))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"rating\":5,\"comment\":\"Worth every query\"}"));
+
+        withinBudget(get("/api/v1/restaurants/{id}", id).with(user("diner").roles("USER")));
+        withinBudget(get("/api/v1/restaurants/{id}/reviews", id).with(user("diner").roles("USER")));
+        withinBudget(get("/api/v1/restaurants").param("name", "budget trattoria").with(user("diner").roles("USER")));
+        withinBudget(get("/api/v1/restaurants").param("lat", "40.7").param("lng", "-74.0")
+                .with(user("diner").roles("USER")));
+        withinBudget(get("/api/v1/restaurants/categories").with(user("diner").roles("USER")));
+        withinBudget(get("/api/v1/restaurants/autocomplete").param("q", "budget tra").with(user("diner").roles("USER")));
+        withinBudget(get("/api/v1/restaurants/leaderboard").param("category", "Pizza").with(user("diner").roles("USER")));
+    }
+
+    private MvcResult withinBudget(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertThat(result.getResponse().getStatus()).as(result.getResponse().getContentAsString()).isBetween(200, 299);
+        assertThat(result.getResponse().getHeader(QueryBudgetEnforcer.SERVER_TIMING_HEADER)).startsWith("db;");
+        return result;
+    }
+}
@@ -0,0 +1,107 @@
+package com.triad.resturantfinder.controller;
+
+import com.triad.resturantfinder.model.DTO.RestaurantRequest;
+import com.triad.resturantfinder.model.DTO.RestaurantResponse;
+import com.triad.resturantfinder.service.CategoryDictionary;
+import com.triad.resturantfinder.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Request bodies are validated before anything reaches the services
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequestValidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        RestaurantRequest request = new RestaurantRequest();
+        request.setName("Validation Diner");
+        request.setAddress("1 Main Street");
+        request.setHours("9-17");
+        request.setPriceRange("LOW");
+        request.setCategoryIds(List.of(categoryDictionary.findByName("Greek").orElseThrow().getId()));
+        restaurantId = restaurantService.createRestaurant(request).getId();
+    }
+
+    @Test
+    void rejectsReviewsWithoutAValidRating() throws Exception {
+        postReview("{\"comment\":\"No rating given at all\"}").andExpect(status().isBadRequest());
+        postReview("{\"rating\":null,\"comment\":\"An explicitly null rating\"}").andExpect(status().isBadRequest());
+        postReview("{\"rating\":0,\"comment\":\"A rating below the scale\"}").andExpect(status().isBadRequest());
+        postReview("{\"rating\":99,\"comment\":\"A rating above the scale\"}").andExpect(status().isBadRequest());
+        postReview("{\"rating\":4,\"comment\":\"short\"}").andExpect(status().isBadRequest());
+
+        RestaurantResponse restaurant = restaurantService.getRestaurantById(restaurantId);
+        assertThat(restaurant.getReviewCount()).isZero();
+    }
+
+    @Test
+    void acceptsAValidReview() throws Exception {
+        postReview("{\"rating\":4,\"comment\":\"Good food, friendly staff\"}").andExpect(status().isCreated());
+    }
+
+    @Test
+    void rejectsInvalidRestaurants() throws Exception {
+        postRestaurant("{\"name\":\"No price range\",\"address\":\"2 Main Street\",\"hours\":\"9-17\",\"categoryIds\":[1]}")
+                .andExpect(status().isBadRequest());
+        postRestaurant("{\"name\":\"Bad price range\",\"address\":\"2 Main Street\",\"hours\":\"9-17\","
+                + "\"priceRange\":\"CHEAP\",\"categoryIds\":[1]}")
+                .andExpect(status().isBadRequest());
+        postRestaurant("{\"name\":\"Short phone\",\"address\":\"2 Main Street\",\"hours\":\"9-17\","
+                + "\"priceRange\":\"LOW\",\"phone\":12345,\"categoryIds\":[1]}")
+                .andExpect(status().isBadRequest());
+        postRestaurant("{\"name\":\"Half a location\",\"address\":\"2 Main Street\",\"hours\":\"9-17\","
+                + "\"priceRange\":\"LOW\",\"latitude\":40.0,\"categoryIds\":[1]}")
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectsInvalidRegistrations() throws Exception {
+        mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"ab\",\"password\":\"secret1\",\"email\":\"ab@example.com\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"validname\",\"password\":\"secret1\",\"email\":\"not an email\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions postReview(String body) throws Exception {
+        return mockMvc.perform(post("/api/v1/restaurants/{id}/reviews", restaurantId)
+                .with(user("reviewer").roles("USER"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    private ResultActions postRestaurant(String body) throws Exception {
+        return mockMvc.perform(post("/api/v1/restaurants/register")
+                .with(user("owner").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}
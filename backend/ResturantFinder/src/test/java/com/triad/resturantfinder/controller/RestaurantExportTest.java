@@ -0,0 +1,71 @@
+package com.triad.resturantfinder.controller;
+
+import com.triad.resturantfinder.model.DTO.RestaurantRequest;
+import com.triad.resturantfinder.service.CategoryDictionary;
+import com.triad.resturantfinder.service.RestaurantService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RestaurantExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Test
+    void onlyAdminsMayExport() throws Exception {
+        mockMvc.perform(get("/api/v1/restaurants/export").with(user("diner").roles("USER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/restaurants/export").with(user("owner").roles("BUSINESS_OWNER")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void streamsOneLinePerRestaurantWithItsOwnTimeout() throws Exception {
+        RestaurantRequest request = new RestaurantRequest();
+        request.setName("Export Taverna");
+        request.setAddress("4 Main Street");
+        request.setHours("9-17");
+        request.setPriceRange("HIGH");
+        request.setCategoryIds(List.of(categoryDictionary.findByName("Seafood").orElseThrow().getId()));
+        restaurantService.createRestaurant(request);
+
+        MvcResult started = mockMvc.perform(get("/api/v1/restaurants/export").with(user("admin").roles("ADMIN")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(30 * 60 * 1000L);
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).endsWith("\n");
+        assertThat(body.lines()).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+        assertThat(body.lines()).anyMatch(line -> line.contains("\"Export Taverna\"") && line.contains("Seafood"));
+    }
+}
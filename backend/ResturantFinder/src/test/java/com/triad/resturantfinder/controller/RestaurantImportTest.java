@@ -0,0 +1,93 @@
+package com.triad.resturantfinder.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RestaurantImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void importsAValidFile() throws Exception {
+        importFile(row("Import Valid One", "") + "\n"
+                + "\n"
+                + row("Import Valid Two", ",\"reviews\":[{\"rating\":4,\"comment\":\"Great crust and sauce\"},"
+                + "{\"rating\":5,\"comment\":\"Best pizza in town\"}]") + "\n")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.reviewsImported").value(2))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+
+        mockMvc.perform(get("/api/v1/restaurants").param("name", "import valid two")
+                        .with(user("reader").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].reviewCount").value(2));
+    }
+
+    // Every row of one chunk: only the rows at fault are reported, the others are imported
+    @Test
+    void reportsOnlyTheBadRowsOfAChunk() throws Exception {
+        String tooLongHours = "9".repeat(300);
+        importFile(String.join("\n",
+                row("Import Mixed Good One", ""),
+                "{\"name\":\"Import Mixed Broken\"",
+                row("Import Mixed Bad Email", ",\"email\":\"not-an-email\""),
+                row("Import Mixed Bad Phone", ",\"phone\":12345"),
+                row("Import Mixed Long Photo", ",\"photoUrl\":\"https://example.com/" + "p".repeat(300) + "\""),
+                row("Import Mixed Long Hours", "").replace("\"9-17\"", "\"" + tooLongHours + "\""),
+                row("Import Mixed Good Two", ",\"email\":\"owner@example.com\",\"phone\":5551234567")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(7))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(5))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value(containsString("Malformed JSON")))
+                .andExpect(jsonPath("$.errors[1].line").value(3))
+                .andExpect(jsonPath("$.errors[1].message").value("Please provide a valid email address"))
+                .andExpect(jsonPath("$.errors[2].line").value(4))
+                .andExpect(jsonPath("$.errors[2].message").value("Phone number must be 10 digits"))
+                .andExpect(jsonPath("$.errors[3].line").value(5))
+                .andExpect(jsonPath("$.errors[3].message").value(containsString("Photo URL")))
+                // Passes validation, so the database rejects it and fails the whole chunk first
+                .andExpect(jsonPath("$.errors[4].line").value(6))
+                .andExpect(jsonPath("$.errors[4].message").value(containsString("Rejected by the database")));
+
+        mockMvc.perform(get("/api/v1/restaurants").param("name", "import mixed")
+                        .with(user("reader").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    private ResultActions importFile(String body) throws Exception {
+        return mockMvc.perform(post("/api/v1/restaurants/import")
+                .with(user("admin").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body));
+    }
+
+    private static String row(String name, String extra) {
+        return "{\"name\":\"" + name + "\",\"address\":\"1 Import Street\",\"hours\":\"9-17\","
+                + "\"priceRange\":\"LOW\",\"categories\":[\"Pizza\"]" + extra + "}";
+    }
+}
@@ -0,0 +1,136 @@
+package com.triad.resturantfinder.controller;
+
+import com.triad.resturantfinder.helper.CursorCodec;
+import com.triad.resturantfinder.model.DTO.RestaurantRequest;
+import com.triad.resturantfinder.service.CategoryDictionary;
+import com.triad.resturantfinder.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RestaurantSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    // A name token no other test uses, so the searches below only see these restaurants
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = "q" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        for (int i = 0; i < 3; i++) {
+            RestaurantRequest request = new RestaurantRequest();
+            request.setName(token + " Grill " + i);
+            request.setAddress(i + " Main Street");
+            request.setHours("9-17");
+            request.setPriceRange("MEDIUM");
+            request.setCategoryIds(List.of(categoryDictionary.findByName("Pizza").orElseThrow().getId()));
+            restaurantService.createRestaurant(request);
+        }
+    }
+
+    @Test
+    void pagesFollowTheCursorToTheEnd() throws Exception {
+        String cursor = mockMvc.perform(search().param("name", token).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().exists(RestaurantController.NEXT_CURSOR_HEADER))
+                .andReturn().getResponse().getHeader(RestaurantController.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(search().param("name", token).param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist(RestaurantController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void relaxedResultsCarryNoCursor() throws Exception {
+        mockMvc.perform(search().param("name", token).param("priceRange", "HIGH").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().string(RestaurantController.RELAXED_CONSTRAINTS_HEADER, "priceRange"))
+                .andExpect(header().doesNotExist(RestaurantController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void misspeltCategoriesAreRelaxedFirst() throws Exception {
+        mockMvc.perform(search().param("name", token).param("categories", "Pizza").param("categories", "Piza"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(header().string(RestaurantController.RELAXED_CONSTRAINTS_HEADER, "category:piza"));
+    }
+
+    @Test
+    void sortIsCaseInsensitive() throws Exception {
+        mockMvc.perform(search().param("name", token).param("sort", "rating"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+    }
+
+    @Test
+    void rejectsInvalidParameters() throws Exception {
+        mockMvc.perform(search().param("size", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("sort", "POPULARITY")).andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("priceRange", "CHEAP")).andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("lat", "91").param("lng", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("lat", "0").param("lng", "-181")).andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("lat", "0").param("lng", "0").param("radiusKm", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("lat", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("rating", "0.5")).andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("rating", "5.5")).andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("rating", "four")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void acceptsDecimalMinimumRatings() throws Exception {
+        mockMvc.perform(search().param("name", token).param("rating", "4.5")).andExpect(status().isOk());
+        mockMvc.perform(search().param("name", token).param("rating", "1")).andExpect(status().isOk());
+        mockMvc.perform(search().param("name", token).param("rating", "5.0")).andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectsCursorsItDidNotIssueForTheQuery() throws Exception {
+        mockMvc.perform(search().param("cursor", "not base64!")).andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("cursor", CursorCodec.encode("ID", "1")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("cursor", CursorCodec.encode("ID", "abc", "")))
+                .andExpect(status().isBadRequest());
+        // Issued for another sort, or for a nearby search
+        mockMvc.perform(search().param("sort", "NAME").param("cursor", CursorCodec.encode("ID", "1", "")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("cursor", CursorCodec.encode("DISTANCE", "1", "0.5")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(search().param("lat", "0").param("lng", "0").param("cursor", CursorCodec.encode("ID", "1", "")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static MockHttpServletRequestBuilder search() {
+        return get("/api/v1/restaurants").with(user("searcher").roles("USER"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.triad.resturantfinder.controller;
+
+import com.triad.resturantfinder.helper.CursorCodec;
+import com.triad.resturantfinder.model.DTO.RestaurantRequest;
+import com.triad.resturantfinder.service.CategoryDictionary;
+import com.triad.resturantfinder.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReviewPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        RestaurantRequest request = new RestaurantRequest();
+        request.setName("Pagination Bistro");
+        request.setAddress("3 Main Street");
+        request.setHours("9-17");
+        request.setPriceRange("LOW");
+        request.setCategoryIds(List.of(categoryDictionary.findByName("Korean").orElseThrow().getId()));
+        restaurantId = restaurantService.createRestaurant(request).getId();
+    }
+
+    @Test
+    void acceptsAWellFormedCursor() throws Exception {
+        reviews(CursorCodec.encode("2024-05-01T12:00", "42"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(RestaurantController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void rejectsTamperedAndForeignCursors() throws Exception {
+        String cursor = CursorCodec.encode("2024-05-01T12:00", "42");
+
+        reviews("not base64!").andExpect(status().isBadRequest());
+        reviews(cursor.substring(0, 8)).andExpect(status().isBadRequest());
+        reviews(CursorCodec.encode("yesterday", "42")).andExpect(status().isBadRequest());
+        reviews(CursorCodec.encode("2024-05-01T12:00", "forty-two")).andExpect(status().isBadRequest());
+        // Issued by the restaurant search
+        reviews(CursorCodec.encode("ID", "42", "")).andExpect(status().isBadRequest());
+    }
+
+    private ResultActions reviews(String cursor) throws Exception {
+        return mockMvc.perform(get("/api/v1/restaurants/{id}/reviews", restaurantId)
+                .param("cursor", cursor)
+                .with(user("reader").roles("USER")));
+    }
+}
@@ -0,0 +1,49 @@
+package com.triad.resturantfinder.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTripsItsParts() {
+        String cursor = CursorCodec.encode("2024-05-01T12:00", "42");
+
+        assertThat(CursorCodec.decode(cursor, 2)).containsExactly("2024-05-01T12:00", "42");
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void keepsEmptyParts() {
+        assertThat(CursorCodec.decode(CursorCodec.encode("ID", "7", ""), 3)).containsExactly("ID", "7", "");
+    }
+
+    @Test
+    void rejectsWhatIsNotBase64() {
+        assertThatThrownBy(() -> CursorCodec.decode("not base64!", 2)).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> CursorCodec.decode("abc+/==", 2)).isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void rejectsCursorsOfAnotherShape() {
+        // A search cursor handed to the review pages, and a hand-made token
+        String searchCursor = CursorCodec.encode("ID", "7", "");
+        String handMade = Base64.getUrlEncoder().encodeToString("42".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> CursorCodec.decode(searchCursor, 2)).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> CursorCodec.decode(handMade, 2)).isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        String cursor = CursorCodec.encode("2024-05-01T12:00", "42");
+        String tampered = cursor.substring(0, 8);
+
+        assertThatThrownBy(() -> CursorCodec.decode(tampered, 2)).isInstanceOf(InvalidRequestException.class);
+    }
+}
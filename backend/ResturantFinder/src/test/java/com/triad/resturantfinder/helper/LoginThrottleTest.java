@@ -0,0 +1,102 @@
+package com.triad.resturantfinder.helper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private final LoginThrottle throttle = new LoginThrottle(1000, Duration.ofMinutes(1),
+            3, Duration.ofMinutes(5), 1000, new SimpleMeterRegistry());
+
+    @Test
+    void refusesAnAddressOverItsLimitUntilTheWindowEnds() {
+        LoginThrottle perIp = new LoginThrottle(2, Duration.ofMinutes(1), 100, Duration.ofMinutes(5),
+                1000, new SimpleMeterRegistry());
+        perIp.checkAttempt("10.0.0.1", null);
+        perIp.checkAttempt("10.0.0.1", null);
+
+        assertThatThrownBy(() -> perIp.checkAttempt("10.0.0.1", null))
+                .isInstanceOfSatisfying(LoginRejectedException.class, e -> {
+                    assertThat(e.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(e.getRetryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(1));
+                });
+        assertThatNoException().isThrownBy(() -> perIp.checkAttempt("10.0.0.2", null));
+    }
+
+    @Test
+    void countsALoginAsAFailureUntilItSucceeds() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAttempt("10.0.0." + i, "Alice");
+        }
+
+        // Case variants are the same account
+        assertThatThrownBy(() -> throttle.checkAttempt("10.0.0.9", "alice"))
+                .isInstanceOfSatisfying(LoginRejectedException.class,
+                        e -> assertThat(e.getRetryAfter()).isLessThanOrEqualTo(Duration.ofMinutes(5)));
+        assertThatNoException().isThrownBy(() -> throttle.checkAttempt("10.0.0.9", "bob"));
+    }
+
+    @Test
+    void aSuccessfulLoginClearsTheFailures() {
+        throttle.checkAttempt("10.0.0.1", "alice");
+        throttle.checkAttempt("10.0.0.1", "alice");
+        throttle.checkAttempt("10.0.0.1", "alice");
+        throttle.recordSuccess("alice");
+
+        assertThatNoException().isThrownBy(() -> throttle.checkAttempt("10.0.0.1", "alice"));
+    }
+
+    @Test
+    void aReleasedAttemptIsNotCounted() {
+        for (int i = 0; i < 10; i++) {
+            throttle.checkAttempt("10.0.0.1", "alice");
+            throttle.release("alice");
+        }
+
+        assertThatNoException().isThrownBy(() -> throttle.checkAttempt("10.0.0.1", "alice"));
+    }
+
+    @Test
+    void parallelGuessesCannotAllPassTheCheck() throws Exception {
+        int guesses = 64;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < guesses; i++) {
+                String ip = "10.0.1." + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        throttle.checkAttempt(ip, "alice");
+                        return true;
+                    } catch (LoginRejectedException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int admitted = 0;
+            for (Future<Boolean> result : results) {
+                admitted += result.get() ? 1 : 0;
+            }
+
+            assertThat(admitted).isEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.triad.resturantfinder.helper;
+
+import com.triad.resturantfinder.model.DAO.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private final PrincipalCache cache = new PrincipalCache(100, Duration.ofMinutes(5));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void loadsEachUserOnce() {
+        cache.get("alice", () -> load("alice", "ROLE_USER"));
+        cache.get("alice", () -> load("alice", "ROLE_USER"));
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void keepsNoPasswordHash() {
+        UserDetails principal = cache.get("alice", () -> load("alice", "ROLE_ADMIN"));
+
+        assertThat(principal).isNotInstanceOf(User.class);
+        assertThat(principal.getPassword()).isNull();
+        assertThat(principal.getUsername()).isEqualTo("alice");
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        assertThat(principal.isEnabled()).isTrue();
+    }
+
+    @Test
+    void evictingAUserReloadsOnlyThatUser() {
+        cache.get("alice", () -> load("alice", "ROLE_USER"));
+        cache.get("bob", () -> load("bob", "ROLE_USER"));
+
+        cache.evictUser("alice");
+        UserDetails alice = cache.get("alice", () -> load("alice", "ROLE_BUSINESS_OWNER"));
+        cache.get("bob", () -> load("bob", "ROLE_USER"));
+
+        assertThat(loads).hasValue(3);
+        assertThat(alice.getAuthorities()).extracting("authority").containsExactly("ROLE_BUSINESS_OWNER");
+    }
+
+    private UserDetails load(String username, String role) {
+        loads.incrementAndGet();
+        return User.builder()
+                .username(username)
+                .password("$2a$10$hash")
+                .role(role)
+                .enabled(true)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.triad.resturantfinder.helper;
+
+import com.triad.resturantfinder.model.DAO.Category;
+import com.triad.resturantfinder.respository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The test profile runs with diagnostics.query-budget.mode=FAIL
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetEnforcerTest {
+
+    static class Handler {
+        @QueryBudget(1)
+        void handle() {
+        }
+    }
+
+    @Autowired
+    private QueryBudgetEnforcer enforcer;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void rollsBackATransactionOverBudget() {
+        String first = unique();
+        String second = unique();
+
+        assertThatThrownBy(() -> inHandler(() -> transactionTemplate.executeWithoutResult(status -> {
+            categoryRepository.save(category(first));
+            categoryRepository.save(category(second));
+        }))).isInstanceOf(QueryBudgetExceededException.class);
+
+        assertThat(categoryRepository.findAll()).extracting(Category::getName).doesNotContain(first, second);
+    }
+
+    @Test
+    void commitsATransactionWithinBudget() {
+        String name = unique();
+
+        inHandler(() -> transactionTemplate.executeWithoutResult(status -> categoryRepository.save(category(name))));
+
+        assertThat(categoryRepository.findAll()).extracting(Category::getName).contains(name);
+    }
+
+    // Statements are counted between these two calls only
+    private void inHandler(Runnable work) {
+        HandlerMethod handler = handler();
+        enforcer.preHandle(request, response, handler);
+        try {
+            work.run();
+        } finally {
+            enforcer.afterCompletion(request, response, handler, null);
+        }
+    }
+
+    private static HandlerMethod handler() {
+        try {
+            return new HandlerMethod(new Handler(), Handler.class.getDeclaredMethod("handle"));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String unique() {
+        return "Budget " + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+}
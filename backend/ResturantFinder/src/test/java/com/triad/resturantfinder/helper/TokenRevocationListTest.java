@@ -0,0 +1,259 @@
+package com.triad.resturantfinder.helper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The wheel turns only when a test calls tick(), on a clock the test moves
+class TokenRevocationListTest {
+
+    private static final Duration TICK = Duration.ofMinutes(1);
+
+    @TempDir
+    private Path directory;
+
+    private final ManualClock clock = new ManualClock();
+
+    private final List<TokenRevocationList> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (TokenRevocationList list : opened) {
+            list.destroy();
+        }
+    }
+
+    @Test
+    void revokedTokensAreRevokedAndOthersAreNot() {
+        TokenRevocationList list = open(1440);
+        String jti = UUID.randomUUID().toString();
+
+        assertThat(list.revoke(jti, in(Duration.ofHours(1)))).isTrue();
+
+        assertThat(list.isRevoked(jti)).isTrue();
+        assertThat(list.isRevoked(jti.toUpperCase())).isTrue();
+        assertThat(list.isRevoked(UUID.randomUUID().toString())).isFalse();
+        assertThat(list.size()).isEqualTo(1);
+    }
+
+    @Test
+    void tokensWithoutAUuidIdAreNeverRevoked() {
+        TokenRevocationList list = open(1440);
+
+        assertThat(list.isRevoked(null)).isFalse();
+        assertThat(list.isRevoked("")).isFalse();
+        assertThat(list.isRevoked("not-a-uuid")).isFalse();
+        assertThat(list.isRevoked("zzzzzzzz-zzzz-zzzz-zzzz-zzzzzzzzzzzz")).isFalse();
+        assertThat(list.isRevoked("0123456789abcdef0123456789abcdef0123")).isFalse();
+
+        assertThat(list.revoke(null, in(Duration.ofHours(1)))).isFalse();
+        assertThat(list.revoke("not-a-uuid", in(Duration.ofHours(1)))).isFalse();
+        assertThat(list.revoke(UUID.randomUUID().toString(), null)).isFalse();
+        assertThat(list.revoke(UUID.randomUUID().toString(), in(Duration.ofSeconds(-1)))).isFalse();
+        assertThat(list.size()).isZero();
+    }
+
+    // Enough entries that probe clusters form; expiring every other one shifts the survivors back
+    @Test
+    void survivorsStayFoundWhenEntriesExpireInsideTheirProbeCluster() {
+        TokenRevocationList list = open(16);
+        List<String> expiring = new ArrayList<>();
+        List<String> surviving = new ArrayList<>();
+        for (int i = 0; i < 800; i++) {
+            String jti = UUID.randomUUID().toString();
+            (i % 2 == 0 ? expiring : surviving).add(jti);
+            list.revoke(jti, in(i % 2 == 0 ? Duration.ofMinutes(5) : Duration.ofHours(1)));
+        }
+
+        advance(list, Duration.ofMinutes(6));
+
+        assertThat(list.size()).isEqualTo(surviving.size());
+        assertThat(surviving).allMatch(list::isRevoked);
+        assertThat(expiring).noneMatch(list::isRevoked);
+    }
+
+    // A 4-slot wheel of one-minute ticks turns several times before the token expires
+    @Test
+    void expiresTokensAcrossWheelRevolutions() {
+        TokenRevocationList list = open(4);
+        String jti = UUID.randomUUID().toString();
+        list.revoke(jti, in(Duration.ofMinutes(10)));
+
+        // Passes the token's slot twice while it is still valid
+        for (int minute = 1; minute <= 9; minute++) {
+            advance(list, TICK);
+            assertThat(list.isRevoked(jti)).as("after %d minutes", minute).isTrue();
+        }
+
+        advance(list, TICK);
+        assertThat(list.isRevoked(jti)).isFalse();
+        assertThat(list.size()).isZero();
+    }
+
+    // More expiries than live entries: the Bloom filter is rebuilt from the survivors alone
+    @Test
+    void keepsTheSurvivorsWhenTheBloomFilterIsRebuilt() {
+        TokenRevocationList list = open(16);
+        List<String> expiring = new ArrayList<>();
+        for (int i = 0; i < 1100; i++) {
+            String jti = UUID.randomUUID().toString();
+            expiring.add(jti);
+            list.revoke(jti, in(Duration.ofMinutes(5)));
+        }
+        List<String> surviving = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String jti = UUID.randomUUID().toString();
+            surviving.add(jti);
+            list.revoke(jti, in(Duration.ofHours(1)));
+        }
+
+        advance(list, Duration.ofMinutes(6));
+
+        assertThat(list.size()).isEqualTo(surviving.size());
+        assertThat(surviving).allMatch(list::isRevoked);
+        assertThat(expiring).noneMatch(list::isRevoked);
+    }
+
+    @Test
+    void restoresRevocationsFromTheLog() throws IOException {
+        TokenRevocationList list = open(1440);
+        String jti = UUID.randomUUID().toString();
+        list.revoke(jti, in(Duration.ofHours(1)));
+        list.destroy();
+
+        TokenRevocationList restored = open(1440);
+
+        assertThat(restored.isRevoked(jti)).isTrue();
+        assertThat(restored.size()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsExpiredAndTruncatedLinesAndCompactsTheLog() throws IOException {
+        String live = UUID.randomUUID().toString();
+        String expired = UUID.randomUUID().toString();
+        String truncated = UUID.randomUUID().toString();
+        long inAnHour = in(Duration.ofHours(1)).getTime();
+        // A crash in the middle of the last append leaves part of a line without a newline
+        Files.writeString(logFile(), live + " " + inAnHour + "\n"
+                + expired + " " + in(Duration.ofHours(-1)).getTime() + "\n"
+                + "garbage\n"
+                + truncated + " " + Long.toString(inAnHour).substring(0, 4), StandardCharsets.UTF_8);
+
+        TokenRevocationList list = open(1440);
+
+        assertThat(list.isRevoked(live)).isTrue();
+        assertThat(list.isRevoked(expired)).isFalse();
+        assertThat(list.isRevoked(truncated)).isFalse();
+        assertThat(Files.readAllLines(logFile())).containsExactly(live + " " + inAnHour);
+
+        // Appends start on a line of their own and survive the next restart
+        String next = UUID.randomUUID().toString();
+        list.revoke(next, in(Duration.ofHours(1)));
+        list.destroy();
+        TokenRevocationList restored = open(1440);
+
+        assertThat(restored.isRevoked(live)).isTrue();
+        assertThat(restored.isRevoked(next)).isTrue();
+        assertThat(restored.size()).isEqualTo(2);
+    }
+
+    @Test
+    void compactsTheLogOnceExpiredLinesOutnumberTheLiveOnes() throws IOException {
+        TokenRevocationList list = open(16);
+        for (int i = 0; i < 1100; i++) {
+            list.revoke(UUID.randomUUID().toString(), in(Duration.ofMinutes(5)));
+        }
+        String jti = UUID.randomUUID().toString();
+        list.revoke(jti, in(Duration.ofHours(1)));
+
+        // Nothing has expired yet: 1101 lines, 1101 live
+        advance(list, TICK);
+        assertThat(Files.readAllLines(logFile())).hasSize(1101);
+
+        advance(list, Duration.ofMinutes(5));
+        assertThat(Files.readAllLines(logFile())).containsExactly(jti + " " + in(Duration.ofMinutes(54)).getTime());
+    }
+
+    @Test
+    void concurrentRevocationsAreAllLogged() throws Exception {
+        TokenRevocationList list = open(1440);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<String>> revoked = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            revoked.add(executor.submit(() -> {
+                String jti = UUID.randomUUID().toString();
+                list.revoke(jti, in(Duration.ofHours(1)));
+                return jti;
+            }));
+        }
+        List<String> ids = new ArrayList<>();
+        for (Future<String> jti : revoked) {
+            ids.add(jti.get());
+        }
+        executor.shutdown();
+        list.destroy();
+
+        TokenRevocationList restored = open(1440);
+
+        assertThat(ids).allMatch(restored::isRevoked);
+        assertThat(restored.size()).isEqualTo(200);
+    }
+
+    private TokenRevocationList open(int wheelSlots) {
+        TokenRevocationList list = new TokenRevocationList(1000, TICK, wheelSlots, logFile().toString(), clock);
+        opened.add(list);
+        return list;
+    }
+
+    private void advance(TokenRevocationList list, Duration duration) {
+        clock.now = clock.now.plus(duration);
+        list.tick();
+    }
+
+    private Path logFile() {
+        return directory.resolve("revoked-tokens.log");
+    }
+
+    private Date in(Duration duration) {
+        return Date.from(clock.now.plus(duration));
+    }
+
+    private static final class ManualClock extends Clock {
+        // On a tick boundary, so every tick() advances the wheel by whole slots
+        private volatile Instant now = Instant.parse("2024-05-01T12:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
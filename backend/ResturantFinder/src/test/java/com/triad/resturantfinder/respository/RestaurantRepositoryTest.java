@@ -0,0 +1,125 @@
+package com.triad.resturantfinder.respository;
+
+import com.triad.resturantfinder.Mappers.RestaurantMapper;
+import com.triad.resturantfinder.helper.PrincipalCache;
+import com.triad.resturantfinder.model.DAO.Category;
+import com.triad.resturantfinder.model.DAO.PriceRange;
+import com.triad.resturantfinder.model.DAO.Restaurant;
+import com.triad.resturantfinder.model.DTO.RestaurantResponse;
+import com.triad.resturantfinder.service.CategoryDictionary;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The read paths that map to RestaurantResponse must cost one statement, whatever the page size
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+// PrincipalCache is only here because the User entity listener needs it
+@Import({RestaurantMapper.class, CategoryDictionary.class, PrincipalCache.class})
+class RestaurantRepositoryTest {
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantMapper restaurantMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        Category pizza = entityManager.persist(category("Pizza"));
+        Category vegan = entityManager.persist(category("Vegan"));
+        ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(entityManager.persist(restaurant("Restaurant " + i, List.of(pizza, vegan))).getId());
+        }
+        entityManager.flush();
+        // Nothing may come from the persistence context
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listReadOfOneRestaurantIsOneStatement() {
+        List<RestaurantResponse> responses = mapAll(restaurantRepository.findWithCategoriesByIdIn(ids.subList(0, 1)));
+
+        assertThat(responses).hasSize(1);
+        assertThat(responses.get(0).getCategories()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listReadOfManyRestaurantsIsOneStatement() {
+        List<RestaurantResponse> responses = mapAll(restaurantRepository.findWithCategoriesByIdIn(ids));
+
+        assertThat(responses).hasSize(ids.size());
+        assertThat(responses).allSatisfy(response -> assertThat(response.getCategories()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void detailReadIsOneStatement() {
+        RestaurantResponse response = restaurantRepository.findWithCategoriesById(ids.get(0))
+                .map(restaurantMapper::toResponse)
+                .orElseThrow();
+
+        assertThat(response.getCategories()).extracting("name").containsExactlyInAnyOrder("Pizza", "Vegan");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // A review recorded between an edit's read and its flush must survive the flush
+    @Test
+    void editDoesNotOverwriteRatingsRecordedSinceItsRead() {
+        Restaurant restaurant = restaurantRepository.findById(ids.get(0)).orElseThrow();
+        restaurantRepository.addRatings(restaurant.getId(), 1, 4, Instant.now());
+
+        restaurant.setName("Renamed");
+        restaurantRepository.saveAndFlush(restaurant);
+        entityManager.clear();
+
+        Restaurant reloaded = restaurantRepository.findById(ids.get(0)).orElseThrow();
+        assertThat(reloaded.getName()).isEqualTo("Renamed");
+        assertThat(reloaded.getReviewCount()).isEqualTo(1);
+        assertThat(reloaded.getRatingSum()).isEqualTo(4);
+        assertThat(reloaded.getAverageRating()).isEqualTo(4.0);
+    }
+
+    private List<RestaurantResponse> mapAll(List<Restaurant> restaurants) {
+        return restaurants.stream().map(restaurantMapper::toResponse).toList();
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    private static Restaurant restaurant(String name, List<Category> categories) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName(name);
+        restaurant.setAddress("1 Main Street");
+        restaurant.setPriceRange(PriceRange.MEDIUM);
+        restaurant.setCategories(new ArrayList<>(categories));
+        return restaurant;
+    }
+}
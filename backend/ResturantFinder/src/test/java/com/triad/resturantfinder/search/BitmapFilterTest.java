@@ -0,0 +1,148 @@
+package com.triad.resturantfinder.search;
+
+import com.triad.resturantfinder.model.DAO.PriceRange;
+import com.triad.resturantfinder.model.DTO.RestaurantRequest;
+import com.triad.resturantfinder.model.DTO.ReviewRequest;
+import com.triad.resturantfinder.service.CategoryDictionary;
+import com.triad.resturantfinder.service.RestaurantService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The bitmap intersection against the SQL filter the index replaced, over one batch of restaurants
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BitmapFilterTest {
+
+    private static final List<List<String>> CATEGORY_SETS = List.of(
+            List.of("Pizza"), List.of("Greek"), List.of("Pizza", "Greek"), List.of("Korean"),
+            List.of("Korean", "Seafood"), List.of("Seafood", "Pizza", "Greek"));
+
+    private static final List<List<String>> CATEGORY_FILTERS = Arrays.asList(
+            null, List.of("pizza"), List.of("greek"), List.of("pizza", "greek"), List.of("korean", "seafood"),
+            List.of("seafood", "pizza"), List.of("vegan"));
+
+    private static final List<PriceRange> PRICE_FILTERS = Arrays.asList(null, PriceRange.LOW, PriceRange.MEDIUM,
+            PriceRange.HIGH);
+
+    private static final List<Double> RATING_FILTERS = Arrays.asList(null, 1.0, 3.0, 4.5, 5.0);
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private RestaurantSearchIndex searchIndex;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // A name token no other test uses, so both sides only see this batch
+    private String token;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        token = "b" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        PriceRange[] priceRanges = PriceRange.values();
+        for (int i = 0; i < 18; i++) {
+            Long id = restaurantService.createRestaurant(
+                    restaurant(i, priceRanges[i % priceRanges.length], CATEGORY_SETS.get(i % CATEGORY_SETS.size()))).getId();
+            ids.add(id);
+            // Every fourth restaurant stays unrated
+            if (i % 4 != 0) {
+                ReviewRequest review = new ReviewRequest();
+                review.setRating(1 + i % 5);
+                review.setComment("Review number " + i);
+                restaurantService.addReview(id, review);
+            }
+        }
+    }
+
+    @Test
+    void matchesTheSqlFilterForEveryCombination() {
+        assertEveryCombinationMatches();
+    }
+
+    // Edits move restaurants between category and price bitmaps
+    @Test
+    void stillMatchesAfterEditsMoveRestaurantsBetweenBitmaps() {
+        restaurantService.updateRestaurant(ids.get(0), restaurant(0, PriceRange.HIGH, List.of("Korean", "Seafood")));
+        restaurantService.updateRestaurant(ids.get(4), restaurant(4, PriceRange.LOW, List.of("Greek")));
+        restaurantService.updateRestaurant(ids.get(5), restaurant(5, PriceRange.MEDIUM, List.of("Pizza")));
+
+        assertEveryCombinationMatches();
+    }
+
+    private void assertEveryCombinationMatches() {
+        for (List<String> categories : CATEGORY_FILTERS) {
+            for (PriceRange priceRange : PRICE_FILTERS) {
+                for (Double rating : RATING_FILTERS) {
+                    SearchCriteria criteria = new SearchCriteria(token, categories, priceRange, rating);
+                    List<Long> indexed = searchIndex.search(criteria, SearchSort.ID, null, 100).stream()
+                            .map(SearchDocument::id)
+                            .toList();
+
+                    assertThat(indexed).as("%s", criteria).isEqualTo(sqlFilter(criteria));
+                }
+            }
+        }
+    }
+
+    // The shape of the query that answered searches before the index
+    private List<Long> sqlFilter(SearchCriteria criteria) {
+        StringBuilder jpql = new StringBuilder("SELECT r.id FROM Restaurant r "
+                + "WHERE LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%')) ");
+        if (criteria.categories() != null) {
+            jpql.append("AND (SELECT COUNT(DISTINCT c2) FROM r.categories c2 WHERE LOWER(c2.name) IN (:categories)) = :categoryCount ");
+        }
+        if (criteria.priceRange() != null) {
+            jpql.append("AND r.priceRange = :priceRange ");
+        }
+        if (criteria.minRating() != null) {
+            jpql.append("AND r.averageRating >= :rating ");
+        }
+        jpql.append("ORDER BY r.id");
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class)
+                .setParameter("name", criteria.name());
+        if (criteria.categories() != null) {
+            query.setParameter("categories", criteria.categories())
+                    .setParameter("categoryCount", (long) criteria.categories().size());
+        }
+        if (criteria.priceRange() != null) {
+            query.setParameter("priceRange", criteria.priceRange());
+        }
+        if (criteria.minRating() != null) {
+            query.setParameter("rating", criteria.minRating());
+        }
+        return query.getResultList();
+    }
+
+    private RestaurantRequest restaurant(int i, PriceRange priceRange, List<String> categories) {
+        RestaurantRequest request = new RestaurantRequest();
+        request.setName(token + " Kitchen " + i);
+        request.setAddress(i + " Filter Street");
+        request.setHours("9-17");
+        request.setPriceRange(priceRange.name());
+        request.setCategoryIds(categories.stream()
+                .map(name -> categoryDictionary.findByName(name).orElseThrow().getId())
+                .toList());
+        return request;
+    }
+}
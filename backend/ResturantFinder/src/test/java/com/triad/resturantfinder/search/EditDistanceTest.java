@@ -0,0 +1,37 @@
+package com.triad.resturantfinder.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EditDistanceTest {
+
+    @Test
+    void exactPrefixCostsNothing() {
+        assertThat(EditDistance.toPrefix("marg", "margherita", 2)).isZero();
+        assertThat(EditDistance.toPrefix("margherita", "margherita", 2)).isZero();
+        assertThat(EditDistance.toPrefix("", "pizza", 1)).isZero();
+    }
+
+    @Test
+    void countsEachKindOfEdit() {
+        assertThat(EditDistance.toPrefix("mxrg", "margherita", 2)).isEqualTo(1);  // substitution
+        assertThat(EditDistance.toPrefix("mrg", "margherita", 2)).isEqualTo(1);   // missing letter
+        assertThat(EditDistance.toPrefix("maarg", "margherita", 2)).isEqualTo(1); // extra letter
+        assertThat(EditDistance.toPrefix("mrag", "margherita", 2)).isEqualTo(1);  // transposition
+    }
+
+    @Test
+    void distanceAtTheCutoffIsExact() {
+        assertThat(EditDistance.toPrefix("pizzx", "pizza", 1)).isEqualTo(1);
+        assertThat(EditDistance.toPrefix("pixxa", "pizza", 2)).isEqualTo(2);
+    }
+
+    @Test
+    void distanceBeyondTheCutoffIsMaxPlusOne() {
+        assertThat(EditDistance.toPrefix("pixxa", "pizza", 1)).isEqualTo(2);
+        assertThat(EditDistance.toPrefix("sushi", "pizza", 1)).isEqualTo(2);
+        assertThat(EditDistance.toPrefix("sushi", "pizza", 0)).isEqualTo(1);
+        assertThat(EditDistance.toPrefix("pizzeria", "pizza", 2)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,117 @@
+package com.triad.resturantfinder.search;
+
+import com.triad.resturantfinder.model.DAO.PriceRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every query is checked against a brute-force scan of the same points
+class GeoGridTest {
+
+    private static final double CELL_DEGREES = 0.05;
+
+    private final GeoGrid grid = new GeoGrid(CELL_DEGREES);
+    private final Map<Long, SearchDocument> documents = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        long id = 1;
+        for (int i = 0; i < 500; i++) {
+            add(id++, 40 + random.nextDouble() * 0.5, -74 + random.nextDouble() * 0.5);
+        }
+        // Points just either side of cell boundaries, where a wrong ring bound would miss hits
+        for (int i = 0; i < 10; i++) {
+            double boundary = 40.1 + i * CELL_DEGREES;
+            add(id++, boundary - 1e-9, -73.8);
+            add(id++, boundary + 1e-9, -73.8);
+            add(id++, 40.2, -73.9 + i * CELL_DEGREES - 1e-9);
+            add(id++, 40.2, -73.9 + i * CELL_DEGREES + 1e-9);
+        }
+    }
+
+    @Test
+    void radiusQueriesMatchBruteForce() {
+        double[][] centers = {{40.2, -73.8}, {40.15, -73.85}, {40.149999, -73.850001}, {40.0, -74.0}, {40.6, -73.4}};
+        for (double[] center : centers) {
+            for (double radiusKm : new double[]{0.1, 1, 4.9, 5.5, 12, 80}) {
+                List<GeoHit> hits = grid.nearest(center[0], center[1], radiusKm, null,
+                        documents::get, document -> true, null, documents.size());
+
+                assertThat(ids(hits)).as("radius %s around %s,%s", radiusKm, center[0], center[1])
+                        .containsExactlyElementsOf(bruteForce(center[0], center[1], radiusKm, documents.size()));
+            }
+        }
+    }
+
+    @Test
+    void nearestNeighboursMatchBruteForce() {
+        Random random = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            double latitude = 39.9 + random.nextDouble() * 0.7;
+            double longitude = -74.1 + random.nextDouble() * 0.7;
+            int limit = 1 + random.nextInt(25);
+
+            List<GeoHit> hits = grid.nearest(latitude, longitude, null, null,
+                    documents::get, document -> true, null, limit);
+
+            assertThat(ids(hits)).containsExactlyElementsOf(bruteForce(latitude, longitude, null, limit));
+        }
+    }
+
+    @Test
+    void cursorContinuesWhereThePreviousPageStopped() {
+        List<Long> pages = new ArrayList<>();
+        GeoCursor after = null;
+        List<GeoHit> page;
+        do {
+            page = grid.nearest(40.2, -73.8, 6.0, null, documents::get, document -> true, after, 7);
+            pages.addAll(ids(page));
+            after = page.isEmpty() ? after : GeoCursor.after(page.get(page.size() - 1));
+        } while (page.size() == 7);
+
+        assertThat(pages).containsExactlyElementsOf(bruteForce(40.2, -73.8, 6.0, documents.size()));
+    }
+
+    @Test
+    void removedPointsAreNotFound() {
+        List<GeoHit> before = grid.nearest(40.2, -73.8, null, null, documents::get, document -> true, null, 1);
+        SearchDocument nearest = before.get(0).document();
+
+        grid.remove(nearest.id(), nearest.latitude(), nearest.longitude());
+        documents.remove(nearest.id());
+
+        List<GeoHit> after = grid.nearest(40.2, -73.8, null, null, documents::get, document -> true, null, 1);
+        assertThat(ids(after)).containsExactlyElementsOf(bruteForce(40.2, -73.8, null, 1))
+                .doesNotContain(nearest.id());
+    }
+
+    private void add(long id, double latitude, double longitude) {
+        documents.put(id, new SearchDocument(id, "n" + id, "n" + id, List.of(), PriceRange.LOW, null, 0,
+                Set.of(), latitude, longitude, 0, null));
+        grid.add(id, latitude, longitude);
+    }
+
+    private List<Long> bruteForce(double latitude, double longitude, Double radiusKm, int limit) {
+        return documents.values().stream()
+                .map(document -> new GeoHit(document, GeoGrid.distanceKm(latitude, longitude,
+                        document.latitude(), document.longitude())))
+                .filter(hit -> radiusKm == null || hit.distanceKm() <= radiusKm)
+                .sorted(GeoGrid.BY_DISTANCE)
+                .limit(limit)
+                .map(hit -> hit.document().id())
+                .toList();
+    }
+
+    private static List<Long> ids(List<GeoHit> hits) {
+        return hits.stream().map(hit -> hit.document().id()).toList();
+    }
+}
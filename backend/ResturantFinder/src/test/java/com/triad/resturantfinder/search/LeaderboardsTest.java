@@ -0,0 +1,148 @@
+package com.triad.resturantfinder.search;
+
+import com.triad.resturantfinder.model.DAO.PriceRange;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardsTest {
+
+    private static final long PIZZA = 1;
+    private static final long VEGAN = 2;
+
+    // Two entries per board, four in its window
+    private final Leaderboards boards = new Leaderboards(2, 3.0, 10);
+    private final Map<Long, SearchDocument> documents = new HashMap<>();
+
+    @Test
+    void ratingUpdatesMoveRestaurantsInAndOutOfTheWindow() {
+        for (long id = 1; id <= 8; id++) {
+            put(document(id, PriceRange.LOW, 3.0 + id * 0.2, 20, PIZZA));
+        }
+        assertThat(ids(PIZZA, PriceRange.LOW, 2)).containsExactly(8L, 7L);
+
+        // From the bottom, outside the window, to the top
+        put(document(1, PriceRange.LOW, 5.0, 40, PIZZA));
+        assertThat(ids(PIZZA, PriceRange.LOW, 2)).containsExactly(1L, 8L);
+
+        // And back below everything
+        put(document(1, PriceRange.LOW, 1.0, 40, PIZZA));
+        assertThat(ids(PIZZA, PriceRange.LOW, 2)).containsExactly(8L, 7L);
+        put(document(8, PriceRange.LOW, 1.5, 20, PIZZA));
+        assertThat(ids(PIZZA, PriceRange.LOW, 2)).containsExactly(7L, 6L);
+    }
+
+    @Test
+    void refillsTheWindowAfterRemovals() {
+        for (long id = 1; id <= 10; id++) {
+            put(document(id, PriceRange.MEDIUM, 3.0 + id * 0.1, 20, PIZZA));
+        }
+
+        // Past the window of four: the rest is only known by id
+        for (long id = 10; id >= 5; id--) {
+            remove(id);
+        }
+        assertThat(ids(PIZZA, PriceRange.MEDIUM, 2)).containsExactly(4L, 3L);
+
+        remove(4);
+        remove(3);
+        remove(2);
+        assertThat(ids(PIZZA, PriceRange.MEDIUM, 2)).containsExactly(1L);
+        remove(1);
+        assertThat(boards.top(PIZZA, PriceRange.MEDIUM, 2)).isEmpty();
+    }
+
+    @Test
+    void keepsOneBoardPerCategoryAndPriceRange() {
+        put(document(1, PriceRange.LOW, 4.5, 30, PIZZA));
+        put(document(2, PriceRange.HIGH, 4.8, 30, PIZZA, VEGAN));
+        put(document(3, PriceRange.LOW, 4.0, 30, VEGAN));
+        put(document(4, PriceRange.HIGH, 3.5, 30, PIZZA));
+
+        assertThat(ids(PIZZA, PriceRange.LOW, 2)).containsExactly(1L);
+        assertThat(ids(PIZZA, PriceRange.HIGH, 2)).containsExactly(2L, 4L);
+        assertThat(ids(PIZZA, null, 2)).containsExactly(2L, 1L);
+        assertThat(ids(VEGAN, null, 2)).containsExactly(2L, 3L);
+        assertThat(boards.top(VEGAN, PriceRange.MEDIUM, 2)).isEmpty();
+        assertThat(boards.top(99L, null, 2)).isEmpty();
+
+        // A new price range and category move the restaurant between boards
+        put(document(2, PriceRange.LOW, 4.8, 30, VEGAN));
+        assertThat(ids(PIZZA, PriceRange.HIGH, 2)).containsExactly(4L);
+        assertThat(ids(PIZZA, null, 2)).containsExactly(1L, 4L);
+        assertThat(ids(VEGAN, PriceRange.LOW, 2)).containsExactly(2L, 3L);
+        assertThat(boards.top(VEGAN, PriceRange.HIGH, 2)).isEmpty();
+    }
+
+    @Test
+    void ignoresUnreviewedRestaurants() {
+        put(document(1, PriceRange.LOW, null, 0, PIZZA));
+        assertThat(boards.top(PIZZA, PriceRange.LOW, 2)).isEmpty();
+
+        put(document(1, PriceRange.LOW, 4.0, 1, PIZZA));
+        assertThat(ids(PIZZA, PriceRange.LOW, 2)).containsExactly(1L);
+    }
+
+    @Test
+    void matchesAFullSortUnderRandomUpdates() {
+        Random random = new Random(7);
+        PriceRange[] priceRanges = PriceRange.values();
+        for (int step = 0; step < 2000; step++) {
+            long id = 1 + random.nextInt(40);
+            if (random.nextInt(10) == 0) {
+                remove(id);
+            } else {
+                Set<Long> categories = random.nextBoolean() ? Set.of(PIZZA) : Set.of(PIZZA, VEGAN);
+                put(document(id, priceRanges[random.nextInt(priceRanges.length)],
+                        1 + random.nextInt(41) / 10.0, random.nextInt(50), categories.toArray(Long[]::new)));
+            }
+            for (long category : List.of(PIZZA, VEGAN)) {
+                assertThat(ids(category, null, 2)).isEqualTo(expected(category, null));
+                for (PriceRange priceRange : priceRanges) {
+                    assertThat(ids(category, priceRange, 2)).isEqualTo(expected(category, priceRange));
+                }
+            }
+        }
+    }
+
+    private List<Long> expected(long categoryId, PriceRange priceRange) {
+        return documents.values().stream()
+                .filter(document -> document.reviewCount() > 0 && document.categoryIds().contains(categoryId))
+                .filter(document -> priceRange == null || document.priceRange() == priceRange)
+                .sorted(Comparator.comparingDouble(boards::score).reversed()
+                        .thenComparing(Comparator.comparingLong(SearchDocument::reviewCount).reversed())
+                        .thenComparingLong(SearchDocument::id))
+                .limit(2)
+                .map(SearchDocument::id)
+                .toList();
+    }
+
+    private List<Long> ids(long categoryId, PriceRange priceRange, int limit) {
+        return boards.top(categoryId, priceRange, limit).stream().map(Leaderboards.Entry::id).toList();
+    }
+
+    private void put(SearchDocument document) {
+        SearchDocument previous = documents.put(document.id(), document);
+        boards.replace(previous, document, documents::get);
+    }
+
+    private void remove(long id) {
+        SearchDocument previous = documents.remove(id);
+        boards.replace(previous, null, documents::get);
+    }
+
+    private static SearchDocument document(long id, PriceRange priceRange, Double rating, long reviewCount,
+                                           Long... categoryIds) {
+        return new SearchDocument(id, "Restaurant " + id, "restaurant " + id, List.of("restaurant"),
+                priceRange, reviewCount == 0 ? null : rating, reviewCount, Set.of(categoryIds),
+                null, null, 0, Instant.EPOCH);
+    }
+}
@@ -0,0 +1,77 @@
+package com.triad.resturantfinder.search;
+
+import com.triad.resturantfinder.model.DAO.Category;
+import com.triad.resturantfinder.model.DAO.PriceRange;
+import com.triad.resturantfinder.model.DAO.RatingAggregate;
+import com.triad.resturantfinder.model.DAO.Restaurant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Outside a transaction the index publishes immediately, so no database is needed
+class RestaurantSearchIndexTest {
+
+    private final RestaurantSearchIndex index = new RestaurantSearchIndex(null, 0.05, 50, 3.0, 10);
+
+    private final Category pizza = category(1, "Pizza");
+    private final Category vegan = category(2, "Vegan");
+
+    @BeforeEach
+    void setUp() {
+        restaurant(1, pizza);
+        restaurant(2, pizza);
+        restaurant(3, pizza, vegan);
+    }
+
+    @Test
+    void dropsTheWidestKnownCategory() {
+        assertThat(index.leastSelectiveCategory(List.of("vegan", "pizza"))).isEqualTo("pizza");
+    }
+
+    @Test
+    void dropsUnknownCategoriesFirst() {
+        assertThat(index.leastSelectiveCategory(List.of("pizza", "piza", "vegan"))).isEqualTo("piza");
+        assertThat(index.leastSelectiveCategory(List.of("vegan", "pizza", "burgers"))).isEqualTo("burgers");
+    }
+
+    // An edit that loaded the row before a review committed carries the older aggregate
+    @Test
+    void anEditDoesNotRollBackANewerRating() {
+        index.updateRating(new RatingAggregate(1L, 3, 4.5, Instant.now()));
+
+        Restaurant edited = restaurant(1, pizza);
+        edited.setName("Renamed Restaurant");
+        index.index(edited);
+
+        SearchDocument document = index.document(1L);
+        assertThat(document.name()).isEqualTo("Renamed Restaurant");
+        assertThat(document.reviewCount()).isEqualTo(3);
+        assertThat(document.rating()).isEqualTo(4.5);
+        assertThat(index.leaderboard("pizza", null, 10))
+                .extracting(entry -> entry.document().id())
+                .containsExactly(1L);
+    }
+
+    private Restaurant restaurant(long id, Category... categories) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Restaurant " + id);
+        restaurant.setAddress("1 Main Street");
+        restaurant.setPriceRange(PriceRange.MEDIUM);
+        restaurant.setCategories(new ArrayList<>(List.of(categories)));
+        index.index(restaurant);
+        return restaurant;
+    }
+
+    private static Category category(long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+}
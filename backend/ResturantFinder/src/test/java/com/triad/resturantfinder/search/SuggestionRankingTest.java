@@ -0,0 +1,54 @@
+package com.triad.resturantfinder.search;
+
+import com.triad.resturantfinder.model.DAO.PriceRange;
+import com.triad.resturantfinder.model.DAO.RatingAggregate;
+import com.triad.resturantfinder.model.DAO.Restaurant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Outside a transaction the index publishes immediately, so no database is needed
+class SuggestionRankingTest {
+
+    private final RestaurantSearchIndex index = new RestaurantSearchIndex(null, 0.05, 50, 3.0, 10);
+
+    @BeforeEach
+    void setUp() {
+        restaurant(1, "Pizzeria Uno", null, 0);
+        restaurant(2, "Pizzeria Due", 4.5, 10);
+        restaurant(3, "Pizzaria Tre", 4.9, 2);   // one typo away from "pizzeria"
+        restaurant(4, "Pizzeria Quattro", 4.5, 30);
+        restaurant(5, "Trattoria", 5.0, 100);
+    }
+
+    @Test
+    void ranksMatchesByRatingThenReviewCount() {
+        List<Suggestion> suggestions = index.autocomplete("pizzeria", 10, 0);
+
+        assertThat(suggestions).extracting(Suggestion::id).containsExactly(3L, 4L, 2L, 1L);
+        assertThat(suggestions).extracting(Suggestion::edits).containsExactly(1, 0, 0, 0);
+    }
+
+    @Test
+    void typosOnlyBreakTies() {
+        restaurant(6, "Pizzaria Sei", 4.5, 30);
+
+        assertThat(index.autocomplete("pizzeria", 3, 0)).extracting(Suggestion::id).containsExactly(3L, 4L, 6L);
+    }
+
+    private void restaurant(long id, String name, Double rating, long reviewCount) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName(name);
+        restaurant.setAddress("1 Main Street");
+        restaurant.setPriceRange(PriceRange.MEDIUM);
+        index.index(restaurant);
+        if (reviewCount > 0) {
+            index.updateRating(new RatingAggregate(id, reviewCount, rating, Instant.now()));
+        }
+    }
+}
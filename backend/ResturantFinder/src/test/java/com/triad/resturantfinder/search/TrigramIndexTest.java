@@ -0,0 +1,49 @@
+package com.triad.resturantfinder.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.add("margherita");
+        index.add("marinara");
+        index.add("sushi");
+    }
+
+    @Test
+    void findsTermsSharingEnoughTrigrams() {
+        // "$$m", "$ma", "mar", "arg" are all shared with margherita; marinara only has the first three
+        assertThat(index.candidates("marg", 4)).containsExactly("margherita");
+        assertThat(index.candidates("marg", 3)).containsExactlyInAnyOrder("margherita", "marinara");
+    }
+
+    @Test
+    void findsMisspeltPrefixes() {
+        // One substitution destroys at most three of the query's trigrams
+        String query = "margxerita";
+        assertThat(index.candidates(query, query.length() - 3)).containsExactly("margherita");
+    }
+
+    @Test
+    void matchesTermStartsOnly() {
+        // A query from the middle of a term never shares the term's padded leading trigrams
+        assertThat(index.candidates("ushi", 4)).isEmpty();
+        assertThat(index.candidates("sush", 4)).containsExactly("sushi");
+    }
+
+    @Test
+    void forgetsRemovedTerms() {
+        index.remove("margherita");
+
+        assertThat(index.candidates("marg", 3)).containsExactly("marinara");
+
+        index.clear();
+        assertThat(index.candidates("sus", 1)).isEmpty();
+    }
+}
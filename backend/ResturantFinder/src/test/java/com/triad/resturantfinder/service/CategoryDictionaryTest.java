@@ -0,0 +1,87 @@
+package com.triad.resturantfinder.service;
+
+import com.triad.resturantfinder.model.DAO.Category;
+import com.triad.resturantfinder.model.DTO.CategoryResponse;
+import com.triad.resturantfinder.respository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CategoryDictionaryTest {
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void aReloadKeepsTheIdsAndTheVersion() {
+        Map<String, Long> before = ids();
+        String version = categoryDictionary.version();
+
+        categoryDictionary.refresh();
+
+        assertThat(ids()).isEqualTo(before);
+        assertThat(categoryDictionary.version()).isEqualTo(version);
+        assertThat(categoryDictionary.findByName("pizza").orElseThrow().getId()).isEqualTo(before.get("Pizza"));
+    }
+
+    // The version is derived from the content, so another instance (or a restart) agrees on it
+    @Test
+    void anotherInstanceLoadsTheSameVersion() {
+        CategoryDictionary other = new CategoryDictionary(categoryRepository);
+        other.refresh();
+
+        assertThat(other.version()).isEqualTo(categoryDictionary.version());
+        assertThat(other.all()).isEqualTo(categoryDictionary.all());
+    }
+
+    @Test
+    void aNewCategoryKeepsTheExistingIds() {
+        Map<String, Long> before = ids();
+        String version = categoryDictionary.version();
+        Category added = new Category();
+        added.setName("Dictionary " + UUID.randomUUID());
+
+        added = categoryRepository.save(added);
+        try {
+            assertThat(categoryDictionary.findByName(added.getName()).orElseThrow().getId()).isEqualTo(added.getId());
+            assertThat(categoryDictionary.version()).isNotEqualTo(version);
+            assertThat(ids()).containsAllEntriesOf(before);
+        } finally {
+            categoryRepository.delete(added);
+        }
+
+        assertThat(categoryDictionary.findByName(added.getName())).isEmpty();
+        assertThat(ids()).isEqualTo(before);
+        assertThat(categoryDictionary.version()).isEqualTo(version);
+    }
+
+    @Test
+    void resolvesIdsInOrderAndSkipsUnknownOnes() {
+        Long pizza = categoryDictionary.findByName("Pizza").orElseThrow().getId();
+        Long greek = categoryDictionary.findByName("Greek").orElseThrow().getId();
+
+        List<Category> resolved = categoryDictionary.resolve(List.of(greek, Long.MAX_VALUE, pizza, greek));
+
+        assertThat(resolved).extracting(Category::getId).containsExactly(greek, pizza);
+    }
+
+    private Map<String, Long> ids() {
+        return categoryDictionary.all().stream()
+                .collect(Collectors.toMap(CategoryResponse::getName, CategoryResponse::getId));
+    }
+}
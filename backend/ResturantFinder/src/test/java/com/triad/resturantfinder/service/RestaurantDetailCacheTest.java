@@ -0,0 +1,118 @@
+package com.triad.resturantfinder.service;
+
+import com.triad.resturantfinder.model.DTO.RestaurantRequest;
+import com.triad.resturantfinder.model.DTO.RestaurantResponse;
+import com.triad.resturantfinder.model.DTO.ReviewRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RestaurantDetailCacheTest {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private RestaurantDetailCache detailCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        restaurantId = restaurantService.createRestaurant(restaurant("Cached Tavern")).getId();
+    }
+
+    @Test
+    void servesRepeatedReadsFromTheCache() {
+        RestaurantResponse first = restaurantService.getRestaurantById(restaurantId);
+        long hits = detailCache.stats().hitCount();
+
+        assertThat(restaurantService.getRestaurantById(restaurantId)).isSameAs(first);
+        assertThat(detailCache.stats().hitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void anEditIsVisibleOnTheNextRead() {
+        restaurantService.getRestaurantById(restaurantId);
+
+        restaurantService.updateRestaurant(restaurantId, restaurant("Cached Tavern Renamed"));
+
+        assertThat(restaurantService.getRestaurantById(restaurantId).getName()).isEqualTo("Cached Tavern Renamed");
+    }
+
+    @Test
+    void aReviewIsVisibleOnTheNextRead() {
+        assertThat(restaurantService.getRestaurantById(restaurantId).getReviewCount()).isZero();
+
+        ReviewRequest review = new ReviewRequest();
+        review.setRating(5);
+        review.setComment("Wonderful evening out");
+        restaurantService.addReview(restaurantId, review);
+
+        RestaurantResponse reread = restaurantService.getRestaurantById(restaurantId);
+        assertThat(reread.getReviewCount()).isEqualTo(1);
+        assertThat(reread.getRating()).isEqualTo("5.0");
+    }
+
+    // Until the write commits, other readers must keep getting (and may re-cache) the old body
+    @Test
+    void evictsOnlyOnceTheWriteCommits() {
+        RestaurantDetailCache cache = new RestaurantDetailCache(100, Duration.ofMinutes(10));
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, id -> response(id, loads.incrementAndGet()));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            cache.evictAfterCommit(1L);
+            assertThat(cache.get(1L, id -> response(id, loads.incrementAndGet())).getName()).isEqualTo("Load 1");
+        });
+        assertThat(cache.get(1L, id -> response(id, loads.incrementAndGet())).getName()).isEqualTo("Load 2");
+
+        transaction.executeWithoutResult(status -> {
+            cache.evictAfterCommit(1L);
+            status.setRollbackOnly();
+        });
+        assertThat(cache.get(1L, id -> response(id, loads.incrementAndGet())).getName()).isEqualTo("Load 2");
+
+        // Outside a transaction there is nothing to wait for
+        cache.evictAfterCommit(1L);
+        assertThat(cache.get(1L, id -> response(id, loads.incrementAndGet())).getName()).isEqualTo("Load 3");
+    }
+
+    private RestaurantRequest restaurant(String name) {
+        RestaurantRequest request = new RestaurantRequest();
+        request.setName(name);
+        request.setAddress("6 Main Street");
+        request.setHours("9-17");
+        request.setPriceRange("MEDIUM");
+        request.setCategoryIds(List.of(categoryDictionary.findByName("Korean").orElseThrow().getId()));
+        return request;
+    }
+
+    private static RestaurantResponse response(Long id, int load) {
+        RestaurantResponse response = new RestaurantResponse();
+        response.setId(id);
+        response.setName("Load " + load);
+        return response;
+    }
+}
@@ -0,0 +1,138 @@
+package com.triad.resturantfinder.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.triad.resturantfinder.helper.InvalidRequestException;
+import com.triad.resturantfinder.model.DTO.RestaurantRequest;
+import com.triad.resturantfinder.model.DTO.ReviewRequest;
+import com.triad.resturantfinder.respository.RestaurantRepository;
+import com.triad.resturantfinder.respository.ReviewRepository;
+import com.triad.resturantfinder.search.RestaurantSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReviewWriteBehindTest {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private RestaurantSearchIndex searchIndex;
+
+    @Autowired
+    private RestaurantDetailCache detailCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        RestaurantRequest request = new RestaurantRequest();
+        request.setName("Write Behind Diner");
+        request.setAddress("5 Main Street");
+        request.setHours("9-17");
+        request.setPriceRange("LOW");
+        request.setCategoryIds(List.of(categoryDictionary.findByName("Pizza").orElseThrow().getId()));
+        restaurantId = restaurantService.createRestaurant(request).getId();
+    }
+
+    @Test
+    void writesQueuedReviewsAndForgetsThemOnceWritten() {
+        ReviewWriteBehind writeBehind = writeBehind(directory.resolve("spill.ndjson"));
+        writeBehind.start();
+
+        boolean queued = writeBehind.submit(review(4));
+        writeBehind.stop();
+
+        assertThat(queued).isTrue();
+        assertThat(writeBehind.pending("author", restaurantId)).isEmpty();
+        assertThat(reviewCount()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesReviewsWhileStoppedWithoutListingThemAsPending() {
+        ReviewWriteBehind writeBehind = writeBehind(directory.resolve("spill.ndjson"));
+
+        assertThat(writeBehind.submit(review(4))).isFalse();
+        assertThat(writeBehind.pending("author", restaurantId)).isEmpty();
+    }
+
+    @Test
+    void quarantinesSpilledLinesThatCannotBeWritten() throws Exception {
+        Path spillFile = directory.resolve("spill.ndjson");
+        String nullRating = objectMapper.writeValueAsString(review(null));
+        String outOfRange = objectMapper.writeValueAsString(review(9));
+        Files.write(spillFile, List.of(
+                objectMapper.writeValueAsString(review(5)),
+                nullRating,
+                "{\"author\":\"author\",\"restaurantId\":",
+                outOfRange,
+                objectMapper.writeValueAsString(review(3))));
+        ReviewWriteBehind writeBehind = writeBehind(spillFile);
+
+        writeBehind.start();
+        writeBehind.stop();
+
+        assertThat(spillFile).doesNotExist();
+        assertThat(Files.readAllLines(directory.resolve("spill.ndjson.quarantine")))
+                .containsExactly(nullRating, "{\"author\":\"author\",\"restaurantId\":", outOfRange);
+        assertThat(reviewCount()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsAMissingRatingBeforeQueueing() {
+        ReviewRequest request = new ReviewRequest();
+        request.setComment("No rating given at all");
+
+        assertThatThrownBy(() -> restaurantService.submitReview(restaurantId, request, "author"))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private ReviewWriteBehind writeBehind(Path spillFile) {
+        return new ReviewWriteBehind(restaurantRepository, reviewRepository, searchIndex, detailCache,
+                objectMapper, transactionManager, true, true, 100, 50, Duration.ofSeconds(10), spillFile);
+    }
+
+    private ReviewWriteBehind.PendingReview review(Integer rating) {
+        return new ReviewWriteBehind.PendingReview("author", restaurantId, rating,
+                "Queued for the write-behind test", LocalDateTime.of(2024, 5, 1, 12, 0));
+    }
+
+    private long reviewCount() {
+        return restaurantRepository.findRatingAggregate(restaurantId).orElseThrow().reviewCount();
+    }
+}
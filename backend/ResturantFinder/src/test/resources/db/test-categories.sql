@@ -0,0 +1,3 @@
+INSERT INTO categories (name) VALUES
+    ('Italian'), ('Pizza'), ('Mexican'), ('Chinese'), ('Indian'), ('Thai'), ('Japanese'), ('Sushi'),
+    ('Burgers'), ('Vegan'), ('Seafood'), ('Steakhouse'), ('Café'), ('Bakery'), ('Korean'), ('Greek');
@@ -0,0 +1,93 @@
+package com.triad.resturantfinder.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON reports (see {@code -rf json}) and exits with status 1 when any
+ * benchmark got worse than the baseline by more than the threshold, beyond both runs' error
+ * margins.
+ * <pre>
+ * java -cp ... BenchmarkComparison baseline.json current.json [thresholdPercent]
+ * </pre>
+ */
+public final class BenchmarkComparison {
+
+    private record Score(String mode, double score, double error, String unit) {
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %-70s %12.3f %s%n", entry.getKey(), now.score(), now.unit());
+                continue;
+            }
+            if (!before.unit().equals(now.unit()) || !before.mode().equals(now.mode())) {
+                System.out.printf("SKIPPED    %-70s unit or mode changed%n", entry.getKey());
+                continue;
+            }
+            // Positive when the current run is worse, whichever direction "better" is
+            double worsePercent = (now.higherIsBetter() ? before.score() - now.score() : now.score() - before.score())
+                    * 100 / before.score();
+            boolean outsideError = Math.abs(now.score() - before.score()) > margin(before) + margin(now);
+            boolean regressed = worsePercent > threshold && outsideError;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-10s %-70s %12.3f -> %12.3f %s (%+.1f%% worse)%n", regressed ? "REGRESSED" : "OK",
+                    entry.getKey(), before.score(), now.score(), now.unit(), worsePercent);
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("MISSING    %s%n", key));
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    // JMH reports NaN as the error when there were too few iterations to compute one
+    private static double margin(Score score) {
+        return Double.isNaN(score.error()) ? 0 : score.error();
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            if (!params.isEmpty()) {
+                key.append(params);
+            }
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key.toString(), new Score(run.path("mode").asText(), metric.path("score").asDouble(),
+                    metric.path("scoreError").asDouble(Double.NaN), metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,231 @@
+package com.triad.resturantfinder.benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.triad.resturantfinder.model.DAO.Category;
+import com.triad.resturantfinder.model.DAO.PriceRange;
+import com.triad.resturantfinder.model.DAO.Restaurant;
+import com.triad.resturantfinder.model.DTO.RestaurantImportRecord;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic synthetic catalog in the bulk-import NDJSON format: the same seed always
+ * yields the same restaurants, so runs on different commits work on the same data. The
+ * distributions are skewed the way real catalogs are:
+ * <ul>
+ *     <li>category popularity and name words follow a Zipf law, so a few filters match most rows;</li>
+ *     <li>review counts are heavy-tailed (most restaurants have a handful, a few have hundreds);</li>
+ *     <li>ratings lean towards 4 and 5, and cheap restaurants outnumber expensive ones;</li>
+ *     <li>most locations cluster around a few hotspots.</li>
+ * </ul>
+ * Category names match {@code db/test-categories.sql}, the seed of this module's "test" profile.
+ * <pre>
+ * java -cp ... CatalogGenerator &lt;10k|100k|1m|count&gt; &lt;out.ndjson&gt; [seed]
+ * </pre>
+ */
+public final class CatalogGenerator {
+
+    public static final long DEFAULT_SEED = 42;
+
+    static final List<String> CATEGORIES = List.of(
+            "Italian", "Pizza", "Mexican", "Chinese", "Indian", "Thai", "Japanese", "Sushi",
+            "Burgers", "Vegan", "Seafood", "Steakhouse", "Café", "Bakery", "Korean", "Greek");
+
+    private static final String[] FIRST_WORDS = {
+            "Golden", "Little", "Blue", "Old", "Happy", "Red", "Green", "Royal", "Lucky", "Silver",
+            "Corner", "Urban", "Sunny", "Wild", "Rustic", "Crystal"};
+    private static final String[] SECOND_WORDS = {
+            "Dragon", "Olive", "Harbor", "Garden", "Spoon", "Lantern", "Table", "Oven", "Bowl", "Fork",
+            "Kitchen", "Bistro", "Grill", "House", "Tavern", "Noodle"};
+
+    // Share of LOW, MEDIUM, HIGH
+    private static final double[] PRICE_CDF = cdf(new double[]{0.45, 0.40, 0.15});
+    // Share of ratings 1 to 5
+    private static final double[] RATING_CDF = cdf(new double[]{0.05, 0.08, 0.17, 0.35, 0.35});
+    private static final double REVIEW_TAIL_EXPONENT = 1.5;
+    private static final int MAX_REVIEWS = 200;
+
+    // Around downtown San Francisco: uniform over ~20 km, hotspots ~1 km wide
+    private static final double CENTER_LATITUDE = 37.7749;
+    private static final double CENTER_LONGITUDE = -122.4194;
+    private static final double SPREAD_DEGREES = 0.2;
+    private static final double[][] HOTSPOTS = {
+            {37.7793, -122.4193}, {37.7599, -122.4148}, {37.7955, -122.4058}, {37.7648, -122.4630}, {37.7850, -122.4400}};
+    private static final double HOTSPOT_SHARE = 0.7;
+    private static final double HOTSPOT_SIGMA_DEGREES = 0.01;
+
+    private static final double[] CATEGORY_CDF = zipfCdf(CATEGORIES.size(), 1.0);
+    private static final double[] WORD_CDF = zipfCdf(FIRST_WORDS.length, 0.8);
+
+    private CatalogGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: CatalogGenerator <10k|100k|1m|count> <out.ndjson> [seed]");
+            System.exit(2);
+        }
+        int count = parseSize(args[0]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Path.of(args[1])), 1 << 16)) {
+            write(count, seed, objectMapper(), out);
+        }
+        System.out.printf("Wrote %d restaurants to %s%n", count, args[1]);
+    }
+
+    static int parseSize(String size) {
+        String normalized = size.trim().toLowerCase();
+        if (normalized.endsWith("m")) {
+            return Integer.parseInt(normalized.substring(0, normalized.length() - 1)) * 1_000_000;
+        }
+        if (normalized.endsWith("k")) {
+            return Integer.parseInt(normalized.substring(0, normalized.length() - 1)) * 1_000;
+        }
+        return Integer.parseInt(normalized);
+    }
+
+    // Same date handling as the application's own ObjectMapper, which parses the import
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    /**
+     * Writes {@code count} NDJSON lines to {@code out} without holding them in memory; the
+     * stream is left open.
+     */
+    static void write(int count, long seed, ObjectMapper objectMapper, OutputStream out) throws IOException {
+        Random random = new Random(seed);
+        ObjectMapper writer = objectMapper.copy().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        for (int n = 1; n <= count; n++) {
+            writer.writeValue(out, record(n, random));
+            out.write('\n');
+        }
+    }
+
+    static byte[] importBody(int count, long seed, ObjectMapper objectMapper) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(count * 400);
+        try {
+            write(count, seed, objectMapper, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static String name(long n, Random random) {
+        return FIRST_WORDS[pick(WORD_CDF, random)] + " " + SECOND_WORDS[pick(WORD_CDF, random)] + " " + n;
+    }
+
+    private static RestaurantImportRecord record(long n, Random random) {
+        RestaurantImportRecord record = new RestaurantImportRecord();
+        record.setName(name(n, random));
+        record.setAddress(n + " Market St");
+        record.setHours("11:00-22:00");
+        record.setPriceRange(PriceRange.values()[pick(PRICE_CDF, random)].name());
+        if (random.nextDouble() < HOTSPOT_SHARE) {
+            double[] hotspot = HOTSPOTS[random.nextInt(HOTSPOTS.length)];
+            record.setLatitude(hotspot[0] + random.nextGaussian() * HOTSPOT_SIGMA_DEGREES);
+            record.setLongitude(hotspot[1] + random.nextGaussian() * HOTSPOT_SIGMA_DEGREES);
+        } else {
+            record.setLatitude(CENTER_LATITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES);
+            record.setLongitude(CENTER_LONGITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES);
+        }
+
+        Set<String> categories = new LinkedHashSet<>();
+        int categoryCount = 1 + random.nextInt(3);
+        while (categories.size() < categoryCount) {
+            categories.add(CATEGORIES.get(pick(CATEGORY_CDF, random)));
+        }
+        record.setCategories(List.copyOf(categories));
+
+        // Pareto tail: P(count >= k) ~ (k + 1)^-1.5
+        int reviewCount = (int) Math.min(MAX_REVIEWS,
+                Math.pow(1 - random.nextDouble(), -1 / REVIEW_TAIL_EXPONENT) - 1);
+        List<RestaurantImportRecord.ReviewRecord> reviews = new ArrayList<>(reviewCount);
+        for (int i = 0; i < reviewCount; i++) {
+            RestaurantImportRecord.ReviewRecord review = new RestaurantImportRecord.ReviewRecord();
+            review.setRating(1 + pick(RATING_CDF, random));
+            review.setComment("Synthetic review " + i + " for restaurant " + n);
+            review.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(n * 10 + i));
+            reviews.add(review);
+        }
+        record.setReviews(reviews);
+        return record;
+    }
+
+    /**
+     * Detached, fully populated entity for benchmarks that never touch the database.
+     */
+    static Restaurant restaurant(long id, int categoryCount) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName(FIRST_WORDS[0] + " " + SECOND_WORDS[0] + " " + id);
+        restaurant.setAddress(id + " Market St");
+        restaurant.setEmail("contact" + id + "@example.com");
+        restaurant.setPhone(4155550000L + id);
+        restaurant.setDescription("Neighbourhood restaurant serving seasonal dishes and house-made desserts.");
+        restaurant.setHours("11:00-22:00");
+        restaurant.setPriceRange(PriceRange.MEDIUM);
+        restaurant.setReviewCount(12);
+        restaurant.setRatingSum(50);
+        restaurant.setAverageRating(50 / 12.0);
+        restaurant.setPhotoUrl("https://example.com/photos/" + id + ".jpg");
+        restaurant.setLatitude(CENTER_LATITUDE);
+        restaurant.setLongitude(CENTER_LONGITUDE);
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < categoryCount; i++) {
+            Category category = new Category();
+            category.setId(i + 1L);
+            category.setName(CATEGORIES.get(i));
+            categories.add(category);
+        }
+        restaurant.setCategories(categories);
+        return restaurant;
+    }
+
+    private static double[] zipfCdf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1 / Math.pow(rank + 1, exponent);
+        }
+        return cdf(weights);
+    }
+
+    private static double[] cdf(double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double[] cdf = new double[weights.length];
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            cdf[i] = running / total;
+        }
+        return cdf;
+    }
+
+    private static int pick(double[] cdf, Random random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < cdf.length; i++) {
+            if (u < cdf[i]) {
+                return i;
+            }
+        }
+        return cdf.length - 1;
+    }
+}
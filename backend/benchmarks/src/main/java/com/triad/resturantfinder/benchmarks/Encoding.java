@@ -0,0 +1,51 @@
+package com.triad.resturantfinder.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The response encodings the application negotiates, configured like its message converters
+ * in {@code WebConfig}.
+ */
+public enum Encoding {
+    JSON {
+        @Override
+        ObjectMapper objectMapper() {
+            return Jackson2ObjectMapperBuilder.json().build();
+        }
+    },
+    CBOR {
+        @Override
+        ObjectMapper objectMapper() {
+            return Jackson2ObjectMapperBuilder.cbor().build();
+        }
+    },
+    SMILE {
+        @Override
+        ObjectMapper objectMapper() {
+            return Jackson2ObjectMapperBuilder.smile()
+                    .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                    .build();
+        }
+    };
+
+    abstract ObjectMapper objectMapper();
+
+    // Default deflate level, as Tomcat's compression uses
+    static byte[] encode(ObjectMapper objectMapper, Object value, boolean gzip) throws IOException {
+        if (!gzip) {
+            return objectMapper.writeValueAsBytes(value);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+}
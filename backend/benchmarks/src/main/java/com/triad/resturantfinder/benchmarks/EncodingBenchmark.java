@@ -0,0 +1,55 @@
+package com.triad.resturantfinder.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.triad.resturantfinder.model.DTO.RestaurantResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of a search result page in each negotiated format, with and without gzip, at the
+ * default and the maximum page size. {@link PayloadSizes} prints the matching byte counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EncodingBenchmark {
+
+    @Param({"20", "100"})
+    public int size;
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public Encoding encoding;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<RestaurantResponse> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = encoding.objectMapper();
+        page = PayloadSizes.restaurantPage(size);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return Encoding.encode(objectMapper, page, gzip);
+    }
+}
@@ -0,0 +1,98 @@
+package com.triad.resturantfinder.benchmarks;
+
+import com.triad.resturantfinder.helper.JwtUtil;
+import com.triad.resturantfinder.helper.TokenRevocationList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing on login and register, and the parsing and revocation check every
+ * authenticated request pays for. The revocation list holds {@value #REVOKED} tokens; run with
+ * {@code -prof gc} to see that the check allocates nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtBenchmark {
+
+    // Default jwt.secret from application.properties
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final int REVOKED = 100_000;
+
+    private JwtUtil jwtUtil;
+    private UserDetails user;
+    private String token;
+    private Path revocationLog;
+    private TokenRevocationList revocationList;
+    private String revokedId;
+    private String validId;
+
+    @Setup
+    public void setUp() throws IOException {
+        jwtUtil = new JwtUtil(SECRET);
+        user = User.withUsername("benchmark-user").password("unused").authorities("ROLE_USER").build();
+        token = jwtUtil.generateToken(user);
+
+        revocationLog = Files.createTempFile("revoked-tokens", ".log");
+        revocationList = new TokenRevocationList(REVOKED, Duration.ofMinutes(1), 1440, revocationLog.toString());
+        Date expiresAt = new Date(System.currentTimeMillis() + Duration.ofHours(24).toMillis());
+        for (int i = 0; i < REVOKED; i++) {
+            revokedId = UUID.randomUUID().toString();
+            revocationList.revoke(revokedId, expiresAt);
+        }
+        validId = jwtUtil.parseClaims(token).getId();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        revocationList.destroy();
+        Files.deleteIfExists(revocationLog);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean revocationCheckMiss() {
+        return revocationList.isRevoked(validId);
+    }
+
+    @Benchmark
+    public boolean revocationCheckHit() {
+        return revocationList.isRevoked(revokedId);
+    }
+}
@@ -0,0 +1,122 @@
+package com.triad.resturantfinder.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load driver: {@code concurrency} clients each send their next request as
+ * soon as the previous one completes, cycling through the given paths, for {@code seconds}
+ * after a warm-up. Prints throughput and latency percentiles. {@link LoadSuite} drives its
+ * scenarios through {@link #drive}; it depends on the JDK only, so it also runs as a single
+ * source file:
+ *
+ * <pre>java benchmarks/src/main/java/com/triad/resturantfinder/benchmarks/LoadDriver.java http://localhost:8080 TOKEN 400 30 /api/v1/restaurants /api/v1/restaurants/1/reviews</pre>
+ */
+public final class LoadDriver {
+
+    record Stats(long requests, long errors, double throughput, double p50Millis, double p95Millis,
+                 double p99Millis, double maxMillis) {
+    }
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("usage: LoadDriver <baseUrl> <token> <concurrency> <seconds> <path>...");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        String token = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        int seconds = Integer.parseInt(args[3]);
+        List<String> paths = Arrays.asList(args).subList(4, args.length);
+        int warmupSeconds = Integer.getInteger("warmup", 10);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        List<HttpRequest> requests = paths.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build())
+                .toList();
+
+        drive(client, requests, concurrency, warmupSeconds);
+        Stats stats = drive(client, requests, concurrency, seconds);
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s p50=%.1f ms p95=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                stats.requests(), stats.errors(), stats.throughput(),
+                stats.p50Millis(), stats.p95Millis(), stats.p99Millis(), stats.maxMillis());
+    }
+
+    /**
+     * Closed loop: each client sends its next request as soon as the previous one completed,
+     * cycling through {@code requests} from its own offset. Responses of 400 and above count
+     * as errors, as do requests that fail with an I/O error.
+     */
+    static Stats drive(HttpClient client, List<HttpRequest> requests, int concurrency, int seconds) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                int offset = worker * Math.max(1, requests.size() / concurrency);
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(requests.get(i % requests.size()),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        long[] all = workers.stream().map(LoadDriver::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Stats(all.length, errors.get(), all.length / (double) seconds,
+                percentile(all, 50), percentile(all, 95), percentile(all, 99),
+                all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,310 @@
+package com.triad.resturantfinder.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.triad.resturantfinder.ResturantFinderApplication;
+import com.triad.resturantfinder.model.DAO.User;
+import com.triad.resturantfinder.respository.UserRepository;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load and regression run over the real HTTP endpoints. Unless
+ * {@code load.base-url} points at a running server, it starts the application in this JVM on
+ * the "test" profile (in-memory H2), seeds a synthetic catalog through the bulk import, then
+ * drives each scenario (search, restaurant detail, review listing, login) in turn with a fixed
+ * number of closed-loop clients. Results are written as JSON; when a baseline is given, the
+ * run fails (exit status 1) if a scenario's p95 latency rose or its throughput fell by more
+ * than {@code load.tolerance} percent, or if more than 1% of its requests failed.
+ * <p>
+ * Settings are system properties: {@code load.catalog} (10k), {@code load.concurrency} (32),
+ * {@code load.duration} and {@code load.warmup} in seconds (20, 5), {@code load.baseline},
+ * {@code load.result}, {@code load.tolerance} (20) and {@code load.update-baseline}, which
+ * stores the run as the new baseline instead of comparing.
+ * <p>
+ * The bulk import is admin-only. In this JVM the load-test user is created as an admin; a
+ * server given by {@code load.base-url} must either have a catalog already or have that user
+ * promoted to {@code ROLE_ADMIN} beforehand.
+ */
+public final class LoadSuite {
+
+    private static final String USERNAME = "loadtest";
+    private static final String PASSWORD = "Load@test1";
+    private static final int SAMPLE_IDS = 1000;
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    record Settings(String catalog, int concurrency, int durationSeconds, int warmupSeconds) {
+    }
+
+    record ScenarioResult(long requests, long errors, double throughput, double p50Millis, double p95Millis,
+                          double p99Millis) {
+    }
+
+    record Result(Settings settings, Map<String, ScenarioResult> scenarios) {
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ObjectMapper objectMapper = CatalogGenerator.objectMapper();
+    private final String baseUrl;
+    private String token;
+
+    private LoadSuite(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = new Settings(
+                System.getProperty("load.catalog", "10k"),
+                Integer.getInteger("load.concurrency", 32),
+                Integer.getInteger("load.duration", 20),
+                Integer.getInteger("load.warmup", 5));
+        String baseline = System.getProperty("load.baseline", "");
+        String resultPath = System.getProperty("load.result", "target/load-result.json");
+        double tolerance = Double.parseDouble(System.getProperty("load.tolerance", "20"));
+        boolean updateBaseline = Boolean.getBoolean("load.update-baseline");
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = System.getProperty("load.base-url", "");
+        if (baseUrl.isEmpty()) {
+            context = new SpringApplicationBuilder(ResturantFinderApplication.class)
+                    .profiles("test")
+                    .bannerMode(Banner.Mode.OFF)
+                    .run("--server.port=0", "--management.server.port=0", "--logging.level.root=WARN", "--logging.level.org.springframework=WARN");
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            createAdmin(context);
+        }
+
+        Result result;
+        try {
+            result = new LoadSuite(baseUrl).run(settings);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+
+        ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        File resultFile = new File(resultPath);
+        if (resultFile.getParentFile() != null) {
+            resultFile.getParentFile().mkdirs();
+        }
+        json.writeValue(resultFile, result);
+        System.out.println("Load results written to " + resultFile);
+
+        if (baseline.isEmpty()) {
+            return;
+        }
+        if (updateBaseline) {
+            json.writeValue(new File(baseline), result);
+            System.out.println("Baseline updated: " + baseline);
+            return;
+        }
+        if (!compare(json.readValue(new File(baseline), Result.class), result, tolerance)) {
+            System.exit(1);
+        }
+    }
+
+    private Result run(Settings settings) throws Exception {
+        token = registerOrLogin();
+        seed(CatalogGenerator.parseSize(settings.catalog()));
+        List<Long> ids = sampleIds();
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("The catalog is empty; nothing to load-test");
+        }
+
+        Map<String, List<HttpRequest>> scenarios = new LinkedHashMap<>();
+        scenarios.put("search", List.of(
+                get("/api/v1/restaurants?name=" + encode("golden dragon")),
+                get("/api/v1/restaurants?categories=Italian&categories=Pizza&priceRange=LOW"),
+                get("/api/v1/restaurants?rating=4&sort=RATING"),
+                get("/api/v1/restaurants?lat=37.7793&lng=-122.4193&radiusKm=2"),
+                get("/api/v1/restaurants?categories=Greek&priceRange=HIGH&rating=5")));
+        scenarios.put("detail", ids.stream().map(id -> get("/api/v1/restaurants/" + id)).toList());
+        scenarios.put("reviews", ids.stream().map(id -> get("/api/v1/restaurants/" + id + "/reviews")).toList());
+        scenarios.put("login", List.of(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(credentials()))
+                .build()));
+
+        Map<String, ScenarioResult> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<HttpRequest>> scenario : scenarios.entrySet()) {
+            drive(scenario.getValue(), settings.concurrency(), settings.warmupSeconds());
+            ScenarioResult result = drive(scenario.getValue(), settings.concurrency(), settings.durationSeconds());
+            System.out.printf("%-8s requests=%d errors=%d throughput=%.1f req/s p50=%.1f ms p95=%.1f ms p99=%.1f ms%n",
+                    scenario.getKey(), result.requests(), result.errors(), result.throughput(),
+                    result.p50Millis(), result.p95Millis(), result.p99Millis());
+            results.put(scenario.getKey(), result);
+        }
+        return new Result(settings, results);
+    }
+
+    private static void createAdmin(ConfigurableApplicationContext context) {
+        UserRepository users = context.getBean(UserRepository.class);
+        if (users.findByUsername(USERNAME).isEmpty()) {
+            users.save(User.builder()
+                    .username(USERNAME)
+                    .password(context.getBean(PasswordEncoder.class).encode(PASSWORD))
+                    .email(USERNAME + "@example.com")
+                    .role("ROLE_ADMIN")
+                    .enabled(true)
+                    .build());
+        }
+    }
+
+    private String registerOrLogin() throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/auth/register", "application/json", HttpRequest.BodyPublishers.ofString(
+                objectMapper.writeValueAsString(Map.of("username", USERNAME, "password", PASSWORD,
+                        "email", USERNAME + "@example.com"))));
+        if (response.statusCode() == 409) {
+            response = post("/auth/login", "application/json", HttpRequest.BodyPublishers.ofString(credentials()));
+        }
+        check(response, "authenticate");
+        return objectMapper.readTree(response.body()).path("token").asText();
+    }
+
+    // Seeds only an empty catalog, so a long-running server can be measured repeatedly
+    private void seed(int restaurants) throws IOException, InterruptedException {
+        HttpResponse<String> first = client.send(get("/api/v1/restaurants?size=1"), HttpResponse.BodyHandlers.ofString());
+        check(first, "list restaurants");
+        if (restaurants == 0 || objectMapper.readTree(first.body()).size() > 0) {
+            return;
+        }
+        Path body = Files.createTempFile("catalog-", ".ndjson");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(body), 1 << 16)) {
+                CatalogGenerator.write(restaurants, CatalogGenerator.DEFAULT_SEED, objectMapper, out);
+            }
+            long started = System.nanoTime();
+            HttpResponse<String> response = post("/api/v1/restaurants/import", "application/x-ndjson",
+                    HttpRequest.BodyPublishers.ofFile(body));
+            check(response, "import the catalog");
+            JsonNode report = objectMapper.readTree(response.body());
+            if (report.path("imported").asLong() != restaurants) {
+                throw new IllegalStateException("Seeding failed: " + response.body());
+            }
+            System.out.printf("Seeded %d restaurants and %d reviews in %d s%n", restaurants,
+                    report.path("reviewsImported").asLong(), Duration.ofNanos(System.nanoTime() - started).toSeconds());
+        } finally {
+            Files.deleteIfExists(body);
+        }
+    }
+
+    private List<Long> sampleIds() throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        while (ids.size() < SAMPLE_IDS) {
+            HttpResponse<String> response = client.send(get("/api/v1/restaurants?sort=ID&size=100"
+                    + (cursor == null ? "" : "&cursor=" + encode(cursor))), HttpResponse.BodyHandlers.ofString());
+            check(response, "page through restaurants");
+            objectMapper.readTree(response.body()).forEach(restaurant -> ids.add(restaurant.path("id").asLong()));
+            cursor = response.headers().firstValue("X-Next-Cursor").orElse(null);
+            if (cursor == null) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    private ScenarioResult drive(List<HttpRequest> requests, int concurrency, int seconds) {
+        LoadDriver.Stats stats = LoadDriver.drive(client, requests, concurrency, seconds);
+        return new ScenarioResult(stats.requests(), stats.errors(), stats.throughput(),
+                stats.p50Millis(), stats.p95Millis(), stats.p99Millis());
+    }
+
+    static boolean compare(Result baseline, Result current, double tolerance) {
+        if (!Objects.equals(baseline.settings(), current.settings())) {
+            System.out.printf("Baseline was recorded with %s, this run used %s; not comparing%n",
+                    baseline.settings(), current.settings());
+            return false;
+        }
+        boolean passed = true;
+        for (Map.Entry<String, ScenarioResult> entry : current.scenarios().entrySet()) {
+            ScenarioResult now = entry.getValue();
+            List<String> problems = new ArrayList<>();
+            if (now.errors() > now.requests() * MAX_ERROR_RATE) {
+                problems.add(now.errors() + " errors");
+            }
+            ScenarioResult before = baseline.scenarios().get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %-8s p95=%.1f ms throughput=%.1f req/s%n", entry.getKey(),
+                        now.p95Millis(), now.throughput());
+            } else {
+                if (now.p95Millis() > before.p95Millis() * (1 + tolerance / 100)) {
+                    problems.add(String.format("p95 %.1f -> %.1f ms", before.p95Millis(), now.p95Millis()));
+                }
+                if (now.throughput() < before.throughput() * (1 - tolerance / 100)) {
+                    problems.add(String.format("throughput %.1f -> %.1f req/s", before.throughput(), now.throughput()));
+                }
+                System.out.printf("%-10s %-8s p95 %.1f -> %.1f ms, throughput %.1f -> %.1f req/s%s%n",
+                        problems.isEmpty() ? "OK" : "REGRESSED", entry.getKey(), before.p95Millis(), now.p95Millis(),
+                        before.throughput(), now.throughput(), problems.isEmpty() ? "" : " (" + String.join(", ", problems) + ")");
+            }
+            passed &= problems.isEmpty();
+        }
+        if (!passed) {
+            System.out.printf("Load run regressed past the baseline (tolerance %.0f%%)%n", tolerance);
+        }
+        return passed;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpResponse<String> post(String path, String contentType, HttpRequest.BodyPublisher body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", contentType)
+                .timeout(Duration.ofMinutes(30))
+                .POST(body);
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String credentials() throws IOException {
+        return objectMapper.writeValueAsString(Map.of("username", USERNAME, "password", PASSWORD));
+    }
+
+    private static void check(HttpResponse<String> response, String action) {
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Could not " + action + ": HTTP " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,97 @@
+package com.triad.resturantfinder.benchmarks;
+
+import com.triad.resturantfinder.Mappers.RestaurantMapper;
+import com.triad.resturantfinder.Mappers.ReviewMapper;
+import com.triad.resturantfinder.model.DAO.Category;
+import com.triad.resturantfinder.model.DAO.PriceRange;
+import com.triad.resturantfinder.model.DAO.Restaurant;
+import com.triad.resturantfinder.model.DAO.RestaurantRow;
+import com.triad.resturantfinder.model.DAO.Review;
+import com.triad.resturantfinder.model.DAO.ReviewView;
+import com.triad.resturantfinder.model.DTO.CategoryResponse;
+import com.triad.resturantfinder.model.DTO.RestaurantResponse;
+import com.triad.resturantfinder.model.DTO.ReviewResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity and projection to DTO mapping, run once per restaurant or review in every listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MapperBenchmark {
+
+    private RestaurantMapper restaurantMapper;
+    private ReviewMapper reviewMapper;
+    private Restaurant restaurant;
+    private RestaurantRow row;
+    private List<CategoryResponse> rowCategories;
+    private Review review;
+    private ReviewView reviewView;
+
+    @Setup
+    public void setUp() {
+        // Neither toResponse overload looks anything up in the dictionary
+        restaurantMapper = new RestaurantMapper(null);
+        reviewMapper = new ReviewMapper();
+
+        restaurant = CatalogGenerator.restaurant(42L, 3);
+        rowCategories = restaurant.getCategories().stream().map(MapperBenchmark::toResponse).toList();
+        row = new RestaurantRow(restaurant.getId(), restaurant.getName(), restaurant.getAddress(),
+                restaurant.getEmail(), restaurant.getPhone(), restaurant.getDescription(), restaurant.getHours(),
+                PriceRange.MEDIUM, restaurant.getAverageRating(), restaurant.getReviewCount(),
+                restaurant.getPhotoUrl(), restaurant.getLatitude(), restaurant.getLongitude(), null, null);
+
+        review = new Review();
+        review.setId(7L);
+        review.setRestaurant(restaurant);
+        review.setRating(4);
+        review.setComment("Great pasta, friendly staff and quick service.");
+        review.setCreatedAt(LocalDateTime.of(2024, 10, 1, 19, 30, 15));
+        reviewView = new ReviewView(review.getId(), restaurant.getId(), review.getRating(), review.getComment(),
+                review.getCreatedAt());
+    }
+
+    @Benchmark
+    public RestaurantResponse restaurantFromEntity() {
+        return restaurantMapper.toResponse(restaurant);
+    }
+
+    @Benchmark
+    public RestaurantResponse restaurantFromRow() {
+        return restaurantMapper.toResponse(row, rowCategories);
+    }
+
+    @Benchmark
+    public ReviewResponse reviewFromEntity() {
+        return reviewMapper.toResponse(review);
+    }
+
+    @Benchmark
+    public ReviewResponse reviewFromView() {
+        return reviewMapper.toResponse(reviewView);
+    }
+
+    private static CategoryResponse toResponse(Category category) {
+        CategoryResponse response = new CategoryResponse();
+        response.setId(category.getId());
+        response.setName(category.getName());
+        return response;
+    }
+}
@@ -0,0 +1,83 @@
+package com.triad.resturantfinder.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.triad.resturantfinder.Mappers.RestaurantMapper;
+import com.triad.resturantfinder.model.DTO.CategoryResponse;
+import com.triad.resturantfinder.model.DTO.RestaurantResponse;
+import com.triad.resturantfinder.model.DTO.ReviewResponse;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Prints the encoded size of typical responses in each negotiated format, raw and gzipped:
+ * <pre>
+ * java -cp ... PayloadSizes
+ * </pre>
+ */
+public final class PayloadSizes {
+
+    private PayloadSizes() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, Object> payloads = new LinkedHashMap<>();
+        payloads.put("restaurants x20", restaurantPage(20));
+        payloads.put("restaurants x100", restaurantPage(100));
+        payloads.put("reviews x20", reviewPage(20));
+        payloads.put("categories x16", categories());
+
+        System.out.printf("%-18s %-6s %10s %10s %8s%n", "payload", "format", "bytes", "gzipped", "vs JSON");
+        for (Map.Entry<String, Object> payload : payloads.entrySet()) {
+            int json = 0;
+            for (Encoding encoding : Encoding.values()) {
+                ObjectMapper objectMapper = encoding.objectMapper();
+                int raw = Encoding.encode(objectMapper, payload.getValue(), false).length;
+                int gzipped = Encoding.encode(objectMapper, payload.getValue(), true).length;
+                if (encoding == Encoding.JSON) {
+                    json = raw;
+                }
+                System.out.printf("%-18s %-6s %10d %10d %7.0f%%%n",
+                        payload.getKey(), encoding, raw, gzipped, 100.0 * raw / json);
+            }
+        }
+    }
+
+    // Two categories per restaurant
+    static List<RestaurantResponse> restaurantPage(int size) {
+        RestaurantMapper mapper = new RestaurantMapper(null);
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> mapper.toResponse(CatalogGenerator.restaurant(id, 2)))
+                .toList();
+    }
+
+    static List<ReviewResponse> reviewPage(int size) {
+        List<ReviewResponse> reviews = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ReviewResponse review = new ReviewResponse();
+            review.setId(1000L + i);
+            review.setRestaurantId(1L);
+            review.setRating(1 + i % 5);
+            review.setComment("Synthetic review " + i + " for restaurant 1");
+            review.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i).toString());
+            reviews.add(review);
+        }
+        return reviews;
+    }
+
+    static List<CategoryResponse> categories() {
+        List<CategoryResponse> categories = new ArrayList<>();
+        for (int i = 0; i < CatalogGenerator.CATEGORIES.size(); i++) {
+            CategoryResponse category = new CategoryResponse();
+            category.setId(i + 1L);
+            category.setName(CatalogGenerator.CATEGORIES.get(i));
+            categories.add(category);
+        }
+        return categories;
+    }
+}
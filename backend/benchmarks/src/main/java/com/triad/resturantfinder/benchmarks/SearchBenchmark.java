@@ -0,0 +1,114 @@
+package com.triad.resturantfinder.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.triad.resturantfinder.ResturantFinderApplication;
+import com.triad.resturantfinder.model.DTO.ImportReport;
+import com.triad.resturantfinder.model.DTO.RestaurantPage;
+import com.triad.resturantfinder.model.DTO.RestaurantSearchRequest;
+import com.triad.resturantfinder.service.RestaurantImportService;
+import com.triad.resturantfinder.service.RestaurantService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RestaurantService.searchRestaurants} end to end: index lookup plus the page load from
+ * this module's "test" profile database (in-memory H2), seeded through the bulk import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SearchBenchmark {
+
+    public enum Scenario {
+        NAME, CATEGORY_AND_PRICE, TOP_RATED, NEARBY, NO_MATCH
+    }
+
+    @Param({"10000"})
+    public int restaurants;
+
+    @Param
+    public Scenario scenario;
+
+    private ConfigurableApplicationContext context;
+    private RestaurantService restaurantService;
+    private RestaurantSearchRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Categories come from the profile's seed script
+        context = new SpringApplicationBuilder(ResturantFinderApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run("--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN",
+                        "--diagnostics.virtual-thread-pinning.enabled=false");
+
+        byte[] body = CatalogGenerator.importBody(restaurants, CatalogGenerator.DEFAULT_SEED,
+                context.getBean(ObjectMapper.class));
+        ImportReport report = context.getBean(RestaurantImportService.class)
+                .importRestaurants(new ByteArrayInputStream(body));
+        if (report.getImported() != restaurants) {
+            throw new IllegalStateException("Seeding failed: " + report.getErrors());
+        }
+
+        restaurantService = context.getBean(RestaurantService.class);
+        request = request(scenario);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RestaurantPage search() {
+        return restaurantService.searchRestaurants(request);
+    }
+
+    private static RestaurantSearchRequest request(Scenario scenario) {
+        RestaurantSearchRequest request = new RestaurantSearchRequest();
+        switch (scenario) {
+            case NAME -> request.setName("golden dragon");
+            case CATEGORY_AND_PRICE -> {
+                request.setCategories(List.of("Italian", "Pizza"));
+                request.setPriceRange("MEDIUM");
+            }
+            case TOP_RATED -> {
+                request.setRating("4");
+                request.setSort("RATING");
+            }
+            case NEARBY -> {
+                request.setLat(37.7793);
+                request.setLng(-122.4193);
+                request.setRadiusKm(2.0);
+            }
+            // Falls back to the unfiltered listing
+            case NO_MATCH -> request.setName("zzzz no such restaurant");
+        }
+        return request;
+    }
+}
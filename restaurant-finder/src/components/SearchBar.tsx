@@ -1,5 +1,6 @@
 import React, { useState, useCallback, useEffect } from 'react';
-import { SearchParams, Category } from '../types';
+import { useNavigate } from 'react-router-dom';
+import { SearchParams, Category, AutocompleteSuggestion } from '../types';
 import debounce from 'lodash/debounce';
 import { restaurantService } from '../services/api';
 import { toast } from 'react-hot-toast';
@@ -36,6 +37,9 @@ const SearchBar: React.FC<SearchBarProps> = ({ onSearch, initialFilters = {} })
   const [isExpanded, setIsExpanded] = useState(false);
   const [categories, setCategories] = useState<Category[]>([]);
   const [loading, setLoading] = useState(true);
+  const [suggestions, setSuggestions] = useState<AutocompleteSuggestion[]>([]);
+  const [showSuggestions, setShowSuggestions] = useState(false);
+  const navigate = useNavigate();
 
   useEffect(() => {
     const fetchCategories = async () => {
@@ -53,11 +57,20 @@ const SearchBar: React.FC<SearchBarProps> = ({ onSearch, initialFilters = {} })
     fetchCategories();
   }, []);
 
-  const debouncedSearch = useCallback(
-    debounce((params: SearchParams) => {
-      onSearch(params);
-    }, 300),
-    [onSearch]
+  // Keystrokes only hit the in-memory autocomplete; the full search runs on Enter or a pick
+  const debouncedSuggest = useCallback(
+    debounce(async (query: string) => {
+      if (!query.trim()) {
+        setSuggestions([]);
+        return;
+      }
+      try {
+        setSuggestions(await restaurantService.autocomplete(query));
+      } catch (error) {
+        setSuggestions([]);
+      }
+    }, 150),
+    []
 );
 
 const handleInputChange = (
@@ -68,12 +81,42 @@ const handleInputChange = (
   setFilters(newFilters);
 
   if (name === 'name') {
-    debouncedSearch(newFilters);
+    setShowSuggestions(true);
+    debouncedSuggest(value);
+    if (!value) {
+      onSearch(newFilters);
+    }
   } else {
     onSearch(newFilters);
   }
 };
 
+const handleNameKeyDown = (e: React.KeyboardEvent<HTMLInputElement>) => {
+  if (e.key === 'Enter') {
+    setShowSuggestions(false);
+    onSearch(filters);
+  } else if (e.key === 'Escape') {
+    setShowSuggestions(false);
+  }
+};
+
+const handleSuggestionSelect = (suggestion: AutocompleteSuggestion) => {
+  setShowSuggestions(false);
+  if (suggestion.type === 'RESTAURANT') {
+    navigate(`/restaurant/${suggestion.id}`);
+    return;
+  }
+  const newFilters = {
+    ...filters,
+    name: '',
+    categories: filters.categories?.includes(suggestion.name)
+      ? filters.categories
+      : [...(filters.categories || []), suggestion.name]
+  };
+  setFilters(newFilters);
+  onSearch(newFilters);
+};
+
 // Replace handleCategoryChange with handleCategorySelect
 const handleCategorySelect = (categoryName: string) => {
   const newCategories = [...(filters.categories || []), categoryName];
@@ -137,6 +180,8 @@ return (
         name="name"
         value={filters.name}
         onChange={handleInputChange}
+        onKeyDown={handleNameKeyDown}
+        onBlur={() => setTimeout(() => setShowSuggestions(false), 150)}
         placeholder="Search restaurants..."
         className="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-rose-500 focus:border-transparent"
       />
@@ -160,6 +205,26 @@ return (
           />
         </svg>
       </button>
+      {showSuggestions && suggestions.length > 0 && (
+        <ul className="absolute z-10 left-0 right-0 mt-1 bg-white border border-gray-200 rounded-lg shadow-lg">
+          {suggestions.map(suggestion => (
+            <li
+              key={`${suggestion.type}-${suggestion.id}`}
+              onMouseDown={() => handleSuggestionSelect(suggestion)}
+              className="flex justify-between px-4 py-2 cursor-pointer hover:bg-rose-50"
+            >
+              <span>{suggestion.name}</span>
+              <span className="text-sm text-gray-500">
+                {suggestion.type === 'CATEGORY'
+                  ? `Category · ${suggestion.count}`
+                  : suggestion.rating
+                    ? `★ ${Number(suggestion.rating).toFixed(1)}`
+                    : ''}
+              </span>
+            </li>
+          ))}
+        </ul>
+      )}
     </div>
 
     {/* Selected Categories Tags */}
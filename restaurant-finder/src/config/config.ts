@@ -13,6 +13,7 @@ interface ApiEndpoints {
     readonly GET_REVIEWS: (id: number) => string;
     readonly ADD_REVIEW: (id: number) => string;
     readonly GET_CATEGORIES: string;
+    readonly AUTOCOMPLETE: string;
   };
 }
 
@@ -37,7 +38,8 @@ const config: Config = {
       UPDATE: (id: number) => `/api/v1/restaurants/update/${id}`,
       GET_REVIEWS: (id: number) => `/api/v1/restaurants/${id}/reviews`,
       ADD_REVIEW: (id: number) => `/api/v1/restaurants/${id}/reviews`,
-      GET_CATEGORIES: '/api/v1/restaurants/categories'
+      GET_CATEGORIES: '/api/v1/restaurants/categories',
+      AUTOCOMPLETE: '/api/v1/restaurants/autocomplete'
     }
   }
 } as const;
@@ -16,6 +16,10 @@ const HomePage: React.FC = () => {
   const [searchAttempted, setSearchAttempted] = useState<boolean>(false);
   const [searchCriteria, setSearchCriteria] = useState<string>('');
   const [showingBackupResults, setShowingBackupResults] = useState<boolean>(false);
+  // The search the cursor belongs to; later pages repeat its params
+  const [currentQuery, setCurrentQuery] = useState<Record<string, string | string[]>>({});
+  const [nextCursor, setNextCursor] = useState<string | undefined>();
+  const [loadingMore, setLoadingMore] = useState<boolean>(false);
 
   useEffect(() => {
     if (!isAuthenticated) {
@@ -48,8 +52,10 @@ const HomePage: React.FC = () => {
       }
       
       
-      const data = await restaurantService.searchRestaurants(queryParams);
-      setRestaurants(data);
+      const page = await restaurantService.searchRestaurants(queryParams);
+      setRestaurants(page.restaurants);
+      setCurrentQuery(queryParams);
+      setNextCursor(page.nextCursor);
       
     } catch (err) {
       const errorMessage = err instanceof Error ? err.message : 'Failed to fetch restaurants';
@@ -60,6 +66,22 @@ const HomePage: React.FC = () => {
     }
   };
 
+  const handleLoadMore = async () => {
+    if (!nextCursor) return;
+
+    try {
+      setLoadingMore(true);
+      const page = await restaurantService.searchRestaurants(currentQuery, nextCursor);
+      setRestaurants(prevRestaurants => [...prevRestaurants, ...page.restaurants]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      const errorMessage = err instanceof Error ? err.message : 'Failed to load more restaurants';
+      toast.error(errorMessage);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   useEffect(() => {
     fetchRestaurants();
   }, []);
@@ -143,6 +165,18 @@ const HomePage: React.FC = () => {
                 ))}
               </div>
             )}
+
+            {nextCursor && (
+              <div className="flex justify-center pb-8">
+                <button
+                  onClick={handleLoadMore}
+                  disabled={loadingMore}
+                  className="px-4 py-2 text-rose-600 hover:text-rose-800 disabled:opacity-50"
+                >
+                  {loadingMore ? 'Loading...' : 'Show more restaurants'}
+                </button>
+              </div>
+            )}
           </>
         )}
       </div>
@@ -18,6 +18,8 @@ const RestaurantDetailPage: React.FC = () => {
   
   const [restaurant, setRestaurant] = useState<Restaurant | null>(null);
   const [reviews, setReviews] = useState<Review[]>([]);
+  const [reviewsCursor, setReviewsCursor] = useState<string | undefined>();
+  const [loadingMoreReviews, setLoadingMoreReviews] = useState<boolean>(false);
   const [loading, setLoading] = useState<boolean>(true);
   const [submittingReview, setSubmittingReview] = useState<boolean>(false);
   const [reviewForm, setReviewForm] = useState<ReviewFormData>({
@@ -31,13 +33,14 @@ const RestaurantDetailPage: React.FC = () => {
 
       try {
         setLoading(true);
-        const [restaurantData, reviewsData] = await Promise.all([
+        const [restaurantData, reviewsPage] = await Promise.all([
           restaurantService.getRestaurant(parseInt(id)),
           restaurantService.getRestaurantReviews(parseInt(id))
         ]);
 
         setRestaurant(restaurantData);
-        setReviews(reviewsData);
+        setReviews(reviewsPage.reviews);
+        setReviewsCursor(reviewsPage.nextCursor);
       } catch (error) {
         const errorMessage = error instanceof Error 
           ? error.message 
@@ -63,7 +66,8 @@ const RestaurantDetailPage: React.FC = () => {
         reviewForm
       );
 
-      setReviews(prevReviews => [...prevReviews, newReview]);
+      setReviews(prevReviews => [newReview, ...prevReviews]);
+      setRestaurant(prev => prev && { ...prev, reviewCount: (prev.reviewCount || 0) + 1 });
       setReviewForm({ rating: 5, comment: '' });
       toast.success('Review submitted successfully!');
     } catch (error) {
@@ -76,6 +80,24 @@ const RestaurantDetailPage: React.FC = () => {
     }
   };
 
+  const handleLoadMoreReviews = async () => {
+    if (!id || !reviewsCursor) return;
+
+    try {
+      setLoadingMoreReviews(true);
+      const page = await restaurantService.getRestaurantReviews(parseInt(id), reviewsCursor);
+      setReviews(prevReviews => [...prevReviews, ...page.reviews]);
+      setReviewsCursor(page.nextCursor);
+    } catch (error) {
+      const errorMessage = error instanceof Error 
+        ? error.message 
+        : 'Failed to load more reviews';
+      toast.error(errorMessage);
+    } finally {
+      setLoadingMoreReviews(false);
+    }
+  };
+
   const formatDate = (dateString: string): string => {
     return new Date(dateString).toLocaleDateString('en-US', {
       year: 'numeric',
@@ -163,7 +185,7 @@ const RestaurantDetailPage: React.FC = () => {
                   </svg>
                 ))}
                 <span className="ml-2 text-gray-600">
-                  ({reviews.length} reviews)
+                  ({restaurant.reviewCount ?? reviews.length} reviews)
                 </span>
               </div>
               
@@ -304,6 +326,15 @@ const RestaurantDetailPage: React.FC = () => {
                 </div>
               ))
             )}
+            {reviewsCursor && (
+              <button
+                onClick={handleLoadMoreReviews}
+                disabled={loadingMoreReviews}
+                className="w-full py-2 text-rose-600 hover:text-rose-800 disabled:opacity-50"
+              >
+                {loadingMoreReviews ? 'Loading...' : 'Show more reviews'}
+              </button>
+            )}
           </div>
         </div>
       </div>
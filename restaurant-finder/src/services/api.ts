@@ -7,8 +7,11 @@ import {
   RestaurantResponse,
   ReviewRequest,
   ReviewResponse,
+  ReviewPage,
+  RestaurantPage,
   Category,
   SearchParams,
+  AutocompleteSuggestion,
 
 } from '../types';
 import config from '../config/config';
@@ -45,25 +48,29 @@ export const authService = {
 
 
 export const restaurantService = {
-  searchRestaurants: async (params?: Record<string, string | string[]>): Promise<RestaurantResponse[]> => {
-    return handleApiResponse(
-      api.get<RestaurantResponse[]>(config.API_ENDPOINTS.RESTAURANTS.BASE, { 
-        params,
-        paramsSerializer: params => {
-          const searchParams = new URLSearchParams();
-          
-          Object.entries(params).forEach(([key, value]) => {
-            if (Array.isArray(value)) {
-              value.forEach(v => searchParams.append(key, v));
-            } else {
-              searchParams.append(key, value);
-            }
-          });
-          
-          return searchParams.toString();
-        }
-      })
-    );
+  // One page of results; pass the previous page's nextCursor, with the same params, to continue
+  searchRestaurants: async (params?: Record<string, string | string[]>, cursor?: string): Promise<RestaurantPage> => {
+    // Needs the response headers, so this bypasses handleApiResponse like getRestaurantReviews
+    const response = await api.get<RestaurantResponse[]>(config.API_ENDPOINTS.RESTAURANTS.BASE, {
+      params: cursor ? { ...params, cursor } : params,
+      paramsSerializer: params => {
+        const searchParams = new URLSearchParams();
+        
+        Object.entries(params).forEach(([key, value]) => {
+          if (Array.isArray(value)) {
+            value.forEach(v => searchParams.append(key, v));
+          } else {
+            searchParams.append(key, value);
+          }
+        });
+        
+        return searchParams.toString();
+      }
+    });
+    return {
+      restaurants: response.data,
+      nextCursor: response.headers['x-next-cursor'] || undefined
+    };
   },
 
 
@@ -88,10 +95,17 @@ export const restaurantService = {
   },
 
 
-  getRestaurantReviews: async (id: number): Promise<ReviewResponse[]> => {
-    return handleApiResponse(
-      api.get<ReviewResponse[]>(config.API_ENDPOINTS.RESTAURANTS.GET_REVIEWS(id))
+  // Newest first; pass the previous page's nextCursor to continue
+  getRestaurantReviews: async (id: number, cursor?: string): Promise<ReviewPage> => {
+    // Needs the response headers, so this bypasses handleApiResponse; the interceptor
+    // already unwraps error bodies
+    const response = await api.get<ReviewResponse[]>(
+      config.API_ENDPOINTS.RESTAURANTS.GET_REVIEWS(id), { params: { cursor } }
     );
+    return {
+      reviews: response.data,
+      nextCursor: response.headers['x-next-cursor'] || undefined
+    };
   },
 
   getCategories: async (): Promise<Category[]> => {
@@ -101,6 +115,13 @@ export const restaurantService = {
   },
 
 
+  autocomplete: async (q: string, limit?: number): Promise<AutocompleteSuggestion[]> => {
+    return handleApiResponse(
+      api.get<AutocompleteSuggestion[]>(config.API_ENDPOINTS.RESTAURANTS.AUTOCOMPLETE, { params: { q, limit } })
+    );
+  },
+
+
   addReview: async (restaurantId: number, review: ReviewRequest): Promise<ReviewResponse> => {
     return handleApiResponse(
       api.post<ReviewResponse>(config.API_ENDPOINTS.RESTAURANTS.ADD_REVIEW(restaurantId), review)
@@ -28,6 +28,14 @@ export interface User {
     id: number;
     name: string;
   }
+
+  export interface AutocompleteSuggestion {
+    type: 'RESTAURANT' | 'CATEGORY';
+    id: number;
+    name: string;
+    rating?: string;
+    count: number;
+  }
   
   export interface Restaurant {
     id: number;
@@ -40,7 +48,11 @@ export interface User {
     priceRange: 'LOW' | 'MEDIUM' | 'HIGH';
     categories: Category[];
     rating?: string;
+    reviewCount?: number;
     photoUrl?: string;
+    latitude?: number;
+    longitude?: number;
+    distanceKm?: number;
   }
   
   export interface RestaurantRequest {
@@ -52,6 +64,8 @@ export interface User {
     hours: string;
     priceRange: string;
     categoryIds: number[];
+    latitude?: number;
+    longitude?: number;
   }
 
   export interface Category {
@@ -72,6 +86,16 @@ export interface User {
     createdAt: string;
   }
 
+  export interface RestaurantPage {
+    restaurants: RestaurantResponse[];
+    nextCursor?: string;  // absent on the last page
+  }
+
+  export interface ReviewPage {
+    reviews: Review[];
+    nextCursor?: string;  // absent on the last page
+  }
+
   export interface ErrorResponse {
     message: string;
     error: string;
@@ -100,6 +124,7 @@ export interface User {
     categories?: string[];
     priceRange?: string;
     rating?: string;
+    reviewCount?: number;
     params?: string;  // Add this line
     sortBy?: string;
   }
\ No newline at end of file